@@ -1,19 +1,61 @@
 package duke;
 
-import java.io.FileNotFoundException;
+import java.io.IOException;
 
 import duke.commands.Command;
 import duke.dukeexceptions.DukeException;
 import duke.dukeexceptions.InvalidFileTaskTypeException;
 import duke.tasks.TaskList;
+import duke.utils.BinarySnapshotFormat;
+import duke.utils.GzipSnapshotFormat;
 import duke.utils.Parser;
+import duke.utils.SegmentedSnapshotFormat;
 import duke.utils.Storage;
 
 
 public class Duke {
     private static final String FILE_PATH = "./storage/tasks.txt";
-    private static final Storage STORAGE = new Storage(FILE_PATH);
-    private static TaskList taskList;
+    private static final String BINARY_FILE_PATH = "./storage/tasks.bin";
+    private static final String GZIP_FILE_PATH = "./storage/tasks.txt.gz";
+    private static final String MANIFEST_FILE_PATH = "./storage/tasks.manifest";
+    private static final String SEGMENT_DIRECTORY = "./storage/segments";
+    private static final String FORMAT_PROPERTY = "duke.storage.format";
+    private static final String LAZY_PROPERTY = "duke.storage.lazy";
+    private static final String COLUMNS_PROPERTY = "duke.tasks.columnar";
+    private static final String BACKGROUND_PROPERTY = "duke.storage.background";
+    private static final Storage STORAGE = createStorage();
+    private static volatile TaskList taskList;
+
+    /**
+     * Creates the Storage for the format chosen with the "duke.storage.format" system property: "text" (the default),
+     * "binary", "gzip" or "segmented". The other formats import the text file on first use. Setting the
+     * "duke.storage.lazy" system property to "true" loads the text format lazily, and setting the
+     * "duke.tasks.columnar" system property to "true" keeps tasks in columns to save memory. Setting the
+     * "duke.storage.background" system property to "true" performs writes on a background thread.
+     */
+    private static Storage createStorage() {
+        String format = System.getProperty(FORMAT_PROPERTY, "text");
+        boolean isWrittenInBackground = Boolean.getBoolean(BACKGROUND_PROPERTY);
+
+        Storage storage;
+        if (format.equals("binary")) {
+            storage = new Storage(BINARY_FILE_PATH, new BinarySnapshotFormat(), isWrittenInBackground);
+            storage.setMigrationSource(FILE_PATH);
+        } else if (format.equals("gzip")) {
+            storage = new Storage(GZIP_FILE_PATH, new GzipSnapshotFormat(), isWrittenInBackground);
+            storage.setMigrationSource(FILE_PATH);
+        } else if (format.equals("segmented")) {
+            storage = new Storage(MANIFEST_FILE_PATH, new SegmentedSnapshotFormat(SEGMENT_DIRECTORY),
+                    isWrittenInBackground);
+            storage.setMigrationSource(FILE_PATH);
+        } else {
+            storage = new Storage(FILE_PATH, isWrittenInBackground);
+            storage.setLoadedLazily(Boolean.getBoolean(LAZY_PROPERTY));
+        }
+
+        storage.setStoredInColumns(Boolean.getBoolean(COLUMNS_PROPERTY));
+        return storage;
+    }
 
     /**
      * Gets input from the user via the GUI and processes it.
@@ -28,10 +70,10 @@ public class Duke {
     /**
      * Initialises Duke by populating taskList with Tasks stored in local storage file.
      * @return message indicating status of file load.
-     * @throws FileNotFoundException when file does not exist.
+     * @throws IOException when the file or journal cannot be read.
      * @throws InvalidFileTaskTypeException when an entry in the file has errors.
      */
-    public String introduction() throws FileNotFoundException, InvalidFileTaskTypeException {
+    public String introduction() throws IOException, InvalidFileTaskTypeException {
         String msg = "Hello! I'm Duke.\n";
         taskList = STORAGE.loadFromFile();
 
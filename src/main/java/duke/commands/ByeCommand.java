@@ -16,7 +16,7 @@ public class ByeCommand extends Command {
     }
 
     /**
-     * Saves all Tasks in taskList to local file, and then prints exit message.
+     * Saves all Tasks in taskList to local file and waits for the save to complete, and then prints exit message.
      *
      * @return exit message to be displayed.
      */
@@ -24,6 +24,7 @@ public class ByeCommand extends Command {
     public String execute() {
         try {
             this.storage.writeToFile(this.taskList);
+            this.storage.flush();
             String byeMsg = "Bye! Hope to see you again soon!\nThis window will be closing in 5 seconds...";
             return byeMsg;
         } catch (IOException e) {
@@ -0,0 +1,46 @@
+package duke.commands;
+
+import java.util.List;
+
+import duke.tasks.Task;
+import duke.tasks.TaskList;
+import duke.utils.Storage;
+
+/**
+ * Represents a clashes command which shows every pair of events that take place at the same time.
+ */
+public class ClashesCommand extends Command {
+    public static final String COMMAND_WORD = "clashes";
+
+    public ClashesCommand(TaskList taskList, Storage storage) {
+        super(taskList, storage);
+    }
+
+    /**
+     * Returns message showing every pair of clashing events.
+     *
+     * @return message showing the pairs of clashing Events, ordered by start time.
+     */
+    @Override
+    public String execute() {
+        List<List<Task>> clashes = this.taskList.getAllClashes();
+
+        if (clashes.isEmpty()) {
+            String noClashesMsg = "None of your events clash!";
+            return noClashesMsg;
+        }
+
+        StringBuilder msg = new StringBuilder("These events clash:");
+        int index = 1;
+        for (List<Task> pair : clashes) {
+            msg.append("\n")
+                    .append(index)
+                    .append(". ")
+                    .append(pair.get(0))
+                    .append("\n    and ")
+                    .append(pair.get(1));
+            index++;
+        }
+        return msg.toString();
+    }
+}
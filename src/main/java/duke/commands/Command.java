@@ -4,6 +4,8 @@ import duke.tasks.TaskList;
 import duke.utils.Storage;
 
 public abstract class Command {
+    protected static final String SAVE_FAILED_MSG = "\nHowever, this change could not be saved: ";
+
     protected TaskList taskList;
     protected Storage storage;
 
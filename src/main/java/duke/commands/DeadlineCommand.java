@@ -1,9 +1,11 @@
 package duke.commands;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 
 import duke.tasks.Deadline;
 import duke.tasks.TaskList;
+import duke.utils.DescriptionPool;
 import duke.utils.Storage;
 
 /**
@@ -36,9 +38,14 @@ public class DeadlineCommand extends Command {
      */
     @Override
     public String execute() {
-        Deadline deadline = new Deadline(this.task, this.dateTime);
+        Deadline deadline = new Deadline(DescriptionPool.getShared().intern(this.task), this.dateTime);
         String successAddMsg = "Got it. I've added this task:\n" + deadline;
-        this.taskList.addTask(deadline);
+
+        try {
+            this.storage.addTask(this.taskList, deadline);
+        } catch (IOException e) {
+            return successAddMsg + SAVE_FAILED_MSG + e.getMessage();
+        }
         return successAddMsg;
     }
 }
@@ -1,5 +1,7 @@
 package duke.commands;
 
+import java.io.IOException;
+
 import duke.tasks.TaskList;
 import duke.utils.Storage;
 
@@ -32,8 +34,14 @@ public class DeleteCommand extends Command {
     @Override
     public String execute() {
         String msg = "Noted. I've removed this task:\n" + this.taskList.getList().get(this.position);
-        this.taskList.deleteTask(this.position);
+        String saveFailedMsg = "";
+        try {
+            this.storage.deleteTask(this.taskList, this.position);
+        } catch (IOException e) {
+            saveFailedMsg = SAVE_FAILED_MSG + e.getMessage();
+        }
+
         String numTasksLeft = "\nNow you have " + this.taskList.getList().size() + " tasks in the list.";
-        return msg + numTasksLeft;
+        return msg + numTasksLeft + saveFailedMsg;
     }
 }
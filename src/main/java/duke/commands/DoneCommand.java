@@ -1,6 +1,7 @@
 package duke.commands;
 
-import duke.tasks.Task;
+import java.io.IOException;
+
 import duke.tasks.TaskList;
 import duke.utils.Storage;
 
@@ -31,15 +32,22 @@ public class DoneCommand extends Command {
      */
     @Override
     public String execute() {
-        Task currentTask = this.taskList.getList().get(this.position);
+        boolean isMarked;
+        String saveFailedMsg = "";
+        try {
+            isMarked = this.storage.setTaskDone(this.taskList, this.position);
+        } catch (IOException e) {
+            // The task is only saved once it has been marked.
+            isMarked = true;
+            saveFailedMsg = SAVE_FAILED_MSG + e.getMessage();
+        }
 
-        if (currentTask.isDone()) {
+        if (!isMarked) {
             String alreadyDoneMsg = "This task is already done!";
             return alreadyDoneMsg;
         }
 
-        this.taskList.setTaskDone(this.position);
         String markedDoneMsg = "Nice! I've marked this task as done:\n" + this.taskList.getList().get(this.position);
-        return markedDoneMsg;
+        return markedDoneMsg + saveFailedMsg;
     }
 }
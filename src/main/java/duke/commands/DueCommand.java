@@ -0,0 +1,68 @@
+package duke.commands;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import duke.tasks.Task;
+import duke.tasks.TaskList;
+import duke.utils.Storage;
+import duke.utils.TaskStringConverter;
+
+/**
+ * Represents a due command which shows the deadlines and events in a range of time, ordered by date.
+ */
+public class DueCommand extends Command {
+    public static final String COMMAND_WORD = "due";
+    public static final String BEFORE_WORD = "before";
+    public static final String BETWEEN_WORD = "between";
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    /**
+     * Creates a DueCommand object to show the deadlines and events before the specified time.
+     *
+     * @param taskList the current list of Tasks.
+     * @param storage the object in charge of writing to the local storage file.
+     * @param before the time which the tasks are before.
+     */
+    public DueCommand(TaskList taskList, Storage storage, LocalDateTime before) {
+        this(taskList, storage, null, before);
+    }
+
+    /**
+     * Creates a DueCommand object to show the deadlines and events from the specified start to the specified end,
+     * inclusive.
+     *
+     * @param taskList the current list of Tasks.
+     * @param storage the object in charge of writing to the local storage file.
+     * @param from the earliest time of the tasks, or null to show the tasks before the end.
+     * @param to the latest time of the tasks.
+     */
+    public DueCommand(TaskList taskList, Storage storage, LocalDateTime from, LocalDateTime to) {
+        super(taskList, storage);
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Returns message showing the deadlines and events in the range of time.
+     *
+     * @return message showing the Tasks due, ordered by date.
+     */
+    @Override
+    public String execute() {
+        List<Task> results = this.from == null
+                ? this.taskList.getTasksDueBefore(this.to)
+                : this.taskList.getTasksDueBetween(this.from, this.to);
+
+        if (results.isEmpty()) {
+            String noTasksDueMsg = "There are no deadlines or events in this period!";
+            return noTasksDueMsg;
+        }
+
+        String msg = "Here are the deadlines and events in this period:"
+                + TaskStringConverter.stringTasksForProgram(results);
+        return msg;
+    }
+}
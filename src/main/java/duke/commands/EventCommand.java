@@ -1,19 +1,25 @@
 package duke.commands;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import duke.tasks.Event;
+import duke.tasks.Task;
 import duke.tasks.TaskList;
+import duke.utils.DescriptionPool;
 import duke.utils.Storage;
+import duke.utils.TaskStringConverter;
 
 /**
- * Represents an event command which adds an event task to the task list.
+ * Represents an event command which adds an event task to the task list, and points out the events it clashes with.
  */
 public class EventCommand extends Command {
     public static final String COMMAND_WORD = "event";
 
     private String task;
     private LocalDateTime dateTime;
+    private LocalDateTime endDateTime;
 
     /**
      * Creates a EventCommand object to store the event command input from the user.
@@ -24,21 +30,46 @@ public class EventCommand extends Command {
      * @param dateTime the date and time associated with the task.
      */
     public EventCommand(TaskList taskList, Storage storage, String task, LocalDateTime dateTime) {
+        this(taskList, storage, task, dateTime, null);
+    }
+
+    /**
+     * Creates a EventCommand object to store the event command input from the user, for an event with an end time.
+     *
+     * @param taskList the current list of Tasks.
+     * @param storage the object in charge of writing to the local storage file.
+     * @param task the String task input by the user.
+     * @param dateTime the date and time the event starts.
+     * @param endDateTime the date and time the event ends, or null if the event has no end time.
+     */
+    public EventCommand(TaskList taskList, Storage storage, String task, LocalDateTime dateTime,
+            LocalDateTime endDateTime) {
         super(taskList, storage);
         this.task = task;
         this.dateTime = dateTime;
+        this.endDateTime = endDateTime;
     }
 
     /**
-     * Adds an Event task with previously specified description and dateTime to taskList.
+     * Adds an Event task with previously specified description and dates to taskList.
      *
-     * @return confirmation message for added Deadline Task.
+     * @return confirmation message for added Event Task, along with the existing events it clashes with.
      */
     @Override
     public String execute() {
-        Event event = new Event(this.task, this.dateTime);
-        this.taskList.addTask(event);
+        Event event = new Event(DescriptionPool.getShared().intern(this.task), this.dateTime,
+                this.endDateTime);
+        List<Task> clashes = this.taskList.getClashingEvents(event);
         String successAddMsg = "Got it. I've added this task:\n" + event;
+        if (!clashes.isEmpty()) {
+            successAddMsg += "\nHeads up, it clashes with:" + TaskStringConverter.stringTasksForProgram(clashes);
+        }
+
+        try {
+            this.storage.addTask(this.taskList, event);
+        } catch (IOException e) {
+            return successAddMsg + SAVE_FAILED_MSG + e.getMessage();
+        }
         return successAddMsg;
     }
 }
@@ -1,9 +1,11 @@
 package duke.commands;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.regex.PatternSyntaxException;
 
 import duke.tasks.Task;
 import duke.tasks.TaskList;
@@ -12,11 +14,27 @@ import duke.utils.TaskStringConverter;
 
 /**
  * Represents a find command which finds tasks with a specified phrase in the task description.
+ *
+ * The phrase is a regular expression, matched ignoring case. Phrases without regular expression metacharacters are
+ * matched as plain text without compiling a pattern, and compiled patterns are kept in a small cache for repeated
+ * searches. Matching a pattern stops once the search has taken longer than a time limit, so that a pattern which
+ * backtracks without end cannot freeze the app, and the tasks found until then are shown.
  */
 public class FindCommand extends Command {
     public static final String COMMAND_WORD = "find";
 
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+    private static final int PATTERN_CACHE_CAPACITY = 64;
+    private static final long DEFAULT_TIME_LIMIT_MILLIS = 2000;
+    private static final Map<String, Pattern> PATTERN_CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+            return size() > PATTERN_CACHE_CAPACITY;
+        }
+    };
+
     private String toFind;
+    private long timeLimitMillis;
 
     /**
      * Creates a FindCommand object to store the find command input from the user.
@@ -26,8 +44,13 @@ public class FindCommand extends Command {
      * @param toFind the phrase to search in all the tasks.
      */
     public FindCommand(TaskList taskList, Storage storage, String toFind) {
+        this(taskList, storage, toFind, DEFAULT_TIME_LIMIT_MILLIS);
+    }
+
+    FindCommand(TaskList taskList, Storage storage, String toFind, long timeLimitMillis) {
         super(taskList, storage);
         this.toFind = toFind;
+        this.timeLimitMillis = timeLimitMillis;
     }
 
     /**
@@ -40,25 +63,42 @@ public class FindCommand extends Command {
      */
     @Override
     public String execute() {
-        Pattern regexPattern = Pattern.compile(toFind, Pattern.CASE_INSENSITIVE);
-        List<Task> results = searchList(regexPattern);
+        List<Task> results;
+        SearchBudget budget = new SearchBudget(this.timeLimitMillis);
+
+        if (isPlainText(toFind)) {
+            results = taskList.searchDescriptions(toFind, description -> containsIgnoreCase(description, toFind));
+        } else {
+            try {
+                results = searchList(getPattern(toFind), budget);
+            } catch (PatternSyntaxException e) {
+                String invalidPatternMsg = "Sorry, I don't understand this search pattern:\n" + e.getDescription();
+                return invalidPatternMsg;
+            }
+        }
+
+        String stoppedEarlyMsg = "\nThe search took too long and was stopped, so some matching tasks may be missing.";
         if (results.size() == 0) {
             String noMatchingTaskMsg = "There are no tasks matching your input :(";
-            return noMatchingTaskMsg;
+            return budget.isExhausted() ? noMatchingTaskMsg + stoppedEarlyMsg : noMatchingTaskMsg;
         }
         String msg = "These are the search results:" + listToString(results);
-        return msg;
+        return budget.isExhausted() ? msg + stoppedEarlyMsg : msg;
     }
 
-    private List<Task> searchList(Pattern regEx) {
-        List<Task> results = taskList.getList()
-                .stream()
-                .filter(task -> {
-                    String description = task.getDescription();
-                    Matcher matcher = regEx.matcher(description);
-                    return matcher.find();
-                })
-                .collect(Collectors.toList());
+    private List<Task> searchList(Pattern regEx, SearchBudget budget) {
+        List<Task> results = taskList.searchDescriptions(toFind, description -> {
+            if (budget.isExhausted()) {
+                return false;
+            }
+
+            try {
+                Matcher matcher = regEx.matcher(new BudgetedCharSequence(description, budget));
+                return matcher.find();
+            } catch (SearchBudget.ExhaustedException e) {
+                return false;
+            }
+        });
 
         return results;
     }
@@ -68,4 +108,130 @@ public class FindCommand extends Command {
 
         return searchResults;
     }
+
+    /**
+     * Returns the compiled case-insensitive pattern for the specified regular expression, from the cache if it was
+     * compiled recently.
+     */
+    private static Pattern getPattern(String regex) {
+        synchronized (PATTERN_CACHE) {
+            Pattern pattern = PATTERN_CACHE.get(regex);
+            if (pattern == null) {
+                pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+                PATTERN_CACHE.put(regex, pattern);
+            }
+            return pattern;
+        }
+    }
+
+    private static boolean isPlainText(String phrase) {
+        for (int i = 0; i < phrase.length(); i++) {
+            if (REGEX_METACHARACTERS.indexOf(phrase.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the description contains the phrase, ignoring the case of ASCII letters only, the same way as a
+     * case-insensitive pattern does.
+     */
+    private static boolean containsIgnoreCase(String description, String phrase) {
+        int last = description.length() - phrase.length();
+        for (int start = 0; start <= last; start++) {
+            int i = 0;
+            while (i < phrase.length() && equalsIgnoreCase(description.charAt(start + i), phrase.charAt(i))) {
+                i++;
+            }
+            if (i == phrase.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean equalsIgnoreCase(char first, char second) {
+        return first == second || (first < 128 && second < 128
+                && Character.toLowerCase(first) == Character.toLowerCase(second));
+    }
+
+    /**
+     * Models the time a search may take before matching is stopped. Descriptions may be matched on several threads
+     * at once, and each thread stops once any of them finds the time limit has passed.
+     */
+    private static class SearchBudget {
+        private final long deadlineNanos;
+        private volatile boolean isExhausted = false;
+
+        private SearchBudget(long timeLimitMillis) {
+            this.deadlineNanos = System.nanoTime() + timeLimitMillis * 1_000_000;
+        }
+
+        /**
+         * Stops the match in progress if the time limit has passed.
+         */
+        private void check() {
+            if (!isExhausted && System.nanoTime() - deadlineNanos > 0) {
+                isExhausted = true;
+            }
+            if (isExhausted) {
+                throw new ExhaustedException();
+            }
+        }
+
+        private boolean isExhausted() {
+            return isExhausted;
+        }
+
+        /**
+         * Thrown out of a match in progress when the time limit has passed.
+         */
+        private static class ExhaustedException extends RuntimeException {
+            private static final long serialVersionUID = 1L;
+
+            private ExhaustedException() {
+                super(null, null, false, false);
+            }
+        }
+    }
+
+    /**
+     * Models a description which checks a SearchBudget after every few characters the pattern reads.
+     */
+    private static class BudgetedCharSequence implements CharSequence {
+        private static final int READS_BETWEEN_CHECKS = 1024;
+
+        private final String description;
+        private final SearchBudget budget;
+        private int reads = 0;
+
+        private BudgetedCharSequence(String description, SearchBudget budget) {
+            this.description = description;
+            this.budget = budget;
+        }
+
+        @Override
+        public int length() {
+            return description.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++reads % READS_BETWEEN_CHECKS == 0) {
+                budget.check();
+            }
+            return description.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new BudgetedCharSequence(description.substring(start, end), budget);
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
 }
@@ -0,0 +1,47 @@
+package duke.commands;
+
+import java.util.List;
+
+import duke.tasks.Task;
+import duke.tasks.TaskList;
+import duke.utils.Storage;
+import duke.utils.TaskStringConverter;
+
+/**
+ * Represents a fuzzy find command which finds tasks with words similar to the specified words, so that typing
+ * mistakes in either the search or the task still find the task.
+ */
+public class FuzzyFindCommand extends Command {
+    public static final String FUZZY_PREFIX = "~";
+
+    private String words;
+
+    /**
+     * Creates a FuzzyFindCommand object to store the fuzzy find command input from the user.
+     *
+     * @param taskList the current list of Tasks.
+     * @param storage the object in charge of writing to the local storage file.
+     * @param words the words to search for in all the tasks.
+     */
+    public FuzzyFindCommand(TaskList taskList, Storage storage, String words) {
+        super(taskList, storage);
+        this.words = words;
+    }
+
+    /**
+     * Searches TaskList for Tasks with a word similar to each of the words.
+     *
+     * @return message showing all the matching Tasks.
+     */
+    @Override
+    public String execute() {
+        List<Task> results = taskList.searchSimilar(this.words);
+        if (results.isEmpty()) {
+            String noMatchingTaskMsg = "There are no tasks matching your input :(";
+            return noMatchingTaskMsg;
+        }
+
+        String msg = "These are the tasks with similar words:" + TaskStringConverter.stringTasksForProgram(results);
+        return msg;
+    }
+}
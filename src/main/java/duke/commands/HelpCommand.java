@@ -13,17 +13,24 @@ import duke.utils.Storage;
 public class HelpCommand extends Command {
     public static final String COMMAND_WORD = "help";
     private static final String UNKNOWN_COMMAND = "unknown";
-    private static final Map<String, String> COMMAND_AND_DESCRIPTION = Map.of(
-            "todo", "todo DESCRIPTION",
-            "deadline", "deadline DESCRIPTION /by DATE",
-            "event", "event DESCRIPTION /at DATE",
-            "find", "find PHRASE",
-            "done", "done INDEX",
-            "delete", "delete INDEX",
-            "list", "list",
-            "bye", "bye",
-            "help", "help (COMMAND)",
-            "unknown", "This is not a valid command. Enter 'help' to see the list of our commands!"
+    private static final Map<String, String> COMMAND_AND_DESCRIPTION = Map.ofEntries(
+            Map.entry("todo", "todo DESCRIPTION"),
+            Map.entry("deadline", "deadline DESCRIPTION /by DATE"),
+            Map.entry("event", "event DESCRIPTION /at DATE, or event DESCRIPTION /at DATE /to DATE"),
+            Map.entry("find", "find PHRASE, find --top NUMBER WORDS for the best matches, or find ~WORDS to allow "
+                    + "typos"),
+            Map.entry("done", "done INDEX"),
+            Map.entry("delete", "delete INDEX"),
+            Map.entry("list", "list, or list FILTERS to only show tasks which are done, pending, type:todo, "
+                    + "type:deadline or type:event, and sort:date, sort:status or sort:type to sort them"),
+            Map.entry("due", "due before DATE, or due between DATE /and DATE"),
+            Map.entry("overdue", "overdue"),
+            Map.entry("clashes", "clashes"),
+            Map.entry("undo", "undo, to undo the last add, done or delete"),
+            Map.entry("redo", "redo, to redo the last undone change"),
+            Map.entry("bye", "bye"),
+            Map.entry("help", "help (COMMAND)"),
+            Map.entry("unknown", "This is not a valid command. Enter 'help' to see the list of our commands!")
     );
     private static final List<String> ALL_COMMANDS = new ArrayList<>(COMMAND_AND_DESCRIPTION.keySet());
 
@@ -75,7 +82,8 @@ public class HelpCommand extends Command {
                 .append(", Input format: ")
                 .append(COMMAND_AND_DESCRIPTION.get(this.command));
 
-        if (this.command.equals(DeadlineCommand.COMMAND_WORD) || this.command.equals(EventCommand.COMMAND_WORD)) {
+        if (this.command.equals(DeadlineCommand.COMMAND_WORD) || this.command.equals(EventCommand.COMMAND_WORD)
+                || this.command.equals(DueCommand.COMMAND_WORD)) {
             stringBuilder.append("\n\nAcceptable date formats: d/M/yyyy HHmm, d MMM yy HHmm, dd-MM-yy HHmm");
         }
 
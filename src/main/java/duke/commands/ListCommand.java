@@ -1,22 +1,53 @@
 package duke.commands;
 
+import java.util.EnumSet;
+import java.util.Set;
+
+import duke.tasks.TaskAttribute;
 import duke.tasks.TaskList;
+import duke.tasks.TaskOrder;
 import duke.utils.Storage;
 
 /**
- * Represents a list command to return the contents of the task list.
+ * Represents a list command to return the contents of the task list, or only the tasks with some attributes,
+ * in some order.
  */
 public class ListCommand extends Command {
     public static final String COMMAND_WORD = "list";
+    public static final String DONE_WORD = "done";
+    public static final String PENDING_WORD = "pending";
+    public static final String TYPE_PREFIX = "type:";
+    public static final String SORT_PREFIX = "sort:";
+    public static final String SORT_DATE_WORD = "date";
+    public static final String SORT_STATUS_WORD = "status";
+    public static final String SORT_TYPE_WORD = "type";
+
+    private Set<TaskAttribute> attributes;
+    private TaskOrder order;
 
     public ListCommand(TaskList taskList, Storage storage) {
+        this(taskList, storage, EnumSet.noneOf(TaskAttribute.class), TaskOrder.LIST);
+    }
+
+    /**
+     * Creates a ListCommand object to show the tasks with the specified attributes, in the specified order.
+     *
+     * @param taskList the current list of Tasks.
+     * @param storage the object in charge of writing to the local storage file.
+     * @param attributes the attributes to filter by, or an empty set to show every task.
+     * @param order the order to show the tasks in.
+     */
+    public ListCommand(TaskList taskList, Storage storage, Set<TaskAttribute> attributes, TaskOrder order) {
         super(taskList, storage);
+        this.attributes = attributes;
+        this.order = order;
     }
 
     /**
-     * Prints all tasks in taskList.
+     * Prints all tasks in taskList, or only those with the attributes to filter by, in the order to show them in.
+     * Tasks are numbered by their position in taskList either way.
      *
-     * @return String representation of all tasks in taskList.
+     * @return String representation of the tasks.
      */
     @Override
     public String execute() {
@@ -24,7 +55,20 @@ public class ListCommand extends Command {
             return this.taskList.getListInString();
         }
 
-        String msg = "Here are the tasks you have:\n" + this.taskList.getListInString();
+        if (this.attributes.isEmpty() && this.order == TaskOrder.LIST) {
+            String msg = "Here are the tasks you have:\n" + this.taskList.getListInString();
+            return msg;
+        }
+
+        String tasks = this.taskList.getListInString(this.attributes, this.order);
+        if (tasks.isEmpty()) {
+            String noMatchMsg = "You have no tasks like these!";
+            return noMatchMsg;
+        }
+
+        String header = this.attributes.isEmpty() ? "Here are the tasks you have:\n"
+                : "Here are the matching tasks you have:\n";
+        String msg = header + tasks;
         return msg;
     }
 }
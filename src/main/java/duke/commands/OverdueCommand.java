@@ -0,0 +1,38 @@
+package duke.commands;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import duke.tasks.Task;
+import duke.tasks.TaskList;
+import duke.utils.Storage;
+import duke.utils.TaskStringConverter;
+
+/**
+ * Represents an overdue command which shows the deadlines that have passed without being done.
+ */
+public class OverdueCommand extends Command {
+    public static final String COMMAND_WORD = "overdue";
+
+    public OverdueCommand(TaskList taskList, Storage storage) {
+        super(taskList, storage);
+    }
+
+    /**
+     * Returns message showing the deadlines which are not done and are due before now.
+     *
+     * @return message showing the overdue Tasks, ordered by date.
+     */
+    @Override
+    public String execute() {
+        List<Task> results = this.taskList.getOverdueTasks(LocalDateTime.now());
+
+        if (results.isEmpty()) {
+            String noOverdueMsg = "You have no overdue deadlines!";
+            return noOverdueMsg;
+        }
+
+        String msg = "These deadlines have passed:" + TaskStringConverter.stringTasksForProgram(results);
+        return msg;
+    }
+}
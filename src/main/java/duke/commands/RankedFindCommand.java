@@ -0,0 +1,51 @@
+package duke.commands;
+
+import java.util.List;
+
+import duke.tasks.Task;
+import duke.tasks.TaskList;
+import duke.utils.Storage;
+import duke.utils.TaskStringConverter;
+
+/**
+ * Represents a ranked find command which shows only the tasks that best match the specified words.
+ */
+public class RankedFindCommand extends Command {
+    public static final String TOP_FLAG = "--top";
+
+    private int limit;
+    private String words;
+
+    /**
+     * Creates a RankedFindCommand object to store the ranked find command input from the user.
+     *
+     * @param taskList the current list of Tasks.
+     * @param storage the object in charge of writing to the local storage file.
+     * @param limit the maximum number of tasks to show.
+     * @param words the words to search for in all the tasks.
+     */
+    public RankedFindCommand(TaskList taskList, Storage storage, int limit, String words) {
+        super(taskList, storage);
+        this.limit = limit;
+        this.words = words;
+    }
+
+    /**
+     * Searches TaskList for the Tasks whose descriptions best match the words, ranking tasks higher the more often
+     * they contain the words and the rarer the words are.
+     *
+     * @return message showing the best matching Tasks, best first.
+     */
+    @Override
+    public String execute() {
+        List<Task> results = taskList.searchRanked(this.words, this.limit);
+        if (results.isEmpty()) {
+            String noMatchingTaskMsg = "There are no tasks matching your input :(";
+            return noMatchingTaskMsg;
+        }
+
+        String msg = "These are the best " + results.size() + " search results:"
+                + TaskStringConverter.stringTasksForProgram(results);
+        return msg;
+    }
+}
@@ -0,0 +1,44 @@
+package duke.commands;
+
+import java.io.IOException;
+
+import duke.tasks.TaskList;
+import duke.utils.Storage;
+
+/**
+ * Represents a redo command which makes the last undone change to the task list again.
+ */
+public class RedoCommand extends Command {
+    public static final String COMMAND_WORD = "redo";
+
+    public RedoCommand(TaskList taskList, Storage storage) {
+        super(taskList, storage);
+    }
+
+    /**
+     * Makes the last undone change to the task list again, and saves the whole list, as the journal cannot record
+     * this change.
+     *
+     * @return message showing the tasks after the change, or indicating that there is no change to redo.
+     */
+    @Override
+    public String execute() {
+        boolean isRedone;
+        String saveFailedMsg = "";
+        try {
+            isRedone = this.storage.redo(this.taskList);
+        } catch (IOException e) {
+            // The list is only saved once the change has been made.
+            isRedone = true;
+            saveFailedMsg = SAVE_FAILED_MSG + e.getMessage();
+        }
+
+        if (!isRedone) {
+            String nothingToRedoMsg = "There is nothing to redo!";
+            return nothingToRedoMsg;
+        }
+
+        String redoneMsg = "Okay, I've redone your last undone change!\n" + this.taskList.getListInString();
+        return redoneMsg + saveFailedMsg;
+    }
+}
@@ -1,7 +1,10 @@
 package duke.commands;
 
+import java.io.IOException;
+
 import duke.tasks.TaskList;
 import duke.tasks.ToDo;
+import duke.utils.DescriptionPool;
 import duke.utils.Storage;
 
 /**
@@ -31,9 +34,14 @@ public class ToDoCommand extends Command {
      */
     @Override
     public String execute() {
-        ToDo todo = new ToDo(this.todo);
-        this.taskList.addTask(todo);
+        ToDo todo = new ToDo(DescriptionPool.getShared().intern(this.todo));
         String successAddMsg = "Got it. I've added this task:\n" + todo;
+
+        try {
+            this.storage.addTask(this.taskList, todo);
+        } catch (IOException e) {
+            return successAddMsg + SAVE_FAILED_MSG + e.getMessage();
+        }
         return successAddMsg;
     }
 }
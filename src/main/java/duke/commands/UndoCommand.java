@@ -0,0 +1,44 @@
+package duke.commands;
+
+import java.io.IOException;
+
+import duke.tasks.TaskList;
+import duke.utils.Storage;
+
+/**
+ * Represents an undo command which changes the task list back to how it was before the last change.
+ */
+public class UndoCommand extends Command {
+    public static final String COMMAND_WORD = "undo";
+
+    public UndoCommand(TaskList taskList, Storage storage) {
+        super(taskList, storage);
+    }
+
+    /**
+     * Changes the task list back to how it was before the last change which has not been undone, and saves the
+     * whole list, as the journal cannot record this change.
+     *
+     * @return message showing the tasks after the change, or indicating that there is no change to undo.
+     */
+    @Override
+    public String execute() {
+        boolean isUndone;
+        String saveFailedMsg = "";
+        try {
+            isUndone = this.storage.undo(this.taskList);
+        } catch (IOException e) {
+            // The list is only saved once the change has been made.
+            isUndone = true;
+            saveFailedMsg = SAVE_FAILED_MSG + e.getMessage();
+        }
+
+        if (!isUndone) {
+            String nothingToUndoMsg = "There is nothing to undo!";
+            return nothingToUndoMsg;
+        }
+
+        String undoneMsg = "Okay, I've undone your last change!\n" + this.taskList.getListInString();
+        return undoneMsg + saveFailedMsg;
+    }
+}
@@ -0,0 +1,193 @@
+package duke.tasks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Models an index of the status and type of every task, kept in step with a TaskList, so that the tasks with some
+ * attributes are found without checking every task.
+ *
+ * Each attribute is a bitset with one bit per task, at the key the task is given by TaskKeys, so that deleting a task
+ * only clears its bits rather than moving the bits of every later task. Filters are evaluated 64 tasks at a time by
+ * combining the words of the bitsets, and the positions of matching tasks are then counted out of the same words.
+ */
+class AttributeIndex {
+    private static final int WORD_BITS = 64;
+
+    private long[] done = new long[1];
+    private long[] todos = new long[1];
+    private long[] deadlines = new long[1];
+    private long[] events = new long[1];
+    private final TaskKeys keys = new TaskKeys();
+
+    /**
+     * Constructs an AttributeIndex over the specified Tasks, in list order.
+     *
+     * @param tasks all Tasks in the TaskList.
+     */
+    AttributeIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Adds the specified Task, which was added to the end of the TaskList.
+     *
+     * @param task the added Task.
+     */
+    void add(Task task) {
+        assert task instanceof ToDo || task instanceof Event || task instanceof Deadline;
+
+        int key = keys.add(this::renumber);
+        if (key == done.length * WORD_BITS) {
+            int length = done.length * 2;
+            done = Arrays.copyOf(done, length);
+            todos = Arrays.copyOf(todos, length);
+            deadlines = Arrays.copyOf(deadlines, length);
+            events = Arrays.copyOf(events, length);
+        }
+
+        if (task.isDone()) {
+            set(done, key);
+        }
+        if (task instanceof ToDo) {
+            set(todos, key);
+        } else if (task instanceof Deadline) {
+            set(deadlines, key);
+        } else {
+            set(events, key);
+        }
+    }
+
+    /**
+     * Removes the task at the specified position of the TaskList.
+     *
+     * @param pos position the Task was removed from.
+     */
+    void remove(int pos) {
+        int key = keys.remove(pos);
+        clear(done, key);
+        clear(todos, key);
+        clear(deadlines, key);
+        clear(events, key);
+    }
+
+    /**
+     * Records that the task at the specified position has been marked as done.
+     *
+     * @param pos position of the task.
+     */
+    void setDone(int pos) {
+        set(done, keys.keyAt(pos));
+    }
+
+    /**
+     * Returns the positions of the tasks with the specified attributes, in list order. A task matches if, for each
+     * kind of attribute specified, it has one of the specified attributes of that kind.
+     *
+     * @param attributes the attributes to filter by.
+     * @return positions of the matching tasks.
+     */
+    List<Integer> findWith(Set<TaskAttribute> attributes) {
+        long[] matches = matchesOf(attributes);
+
+        // Every task has one type, so the type bitsets together mark the keys in use, and the position of a task is
+        // the number of keys in use below its key.
+        List<Integer> positions = new ArrayList<>();
+        int wordStart = 0;
+        for (int w = 0; w < matches.length; w++) {
+            long inUse = todos[w] | deadlines[w] | events[w];
+            long word = matches[w];
+            while (word != 0) {
+                long lowestBit = word & -word;
+                positions.add(wordStart + Long.bitCount(inUse & (lowestBit - 1)));
+                word &= word - 1;
+            }
+            wordStart += Long.bitCount(inUse);
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the specified positions of tasks which have the specified attributes, keeping their order.
+     *
+     * @param positions positions of tasks, in any order.
+     * @param attributes the attributes to filter by, or an empty set to keep every position.
+     * @return the positions of the matching tasks.
+     */
+    List<Integer> retainWith(List<Integer> positions, Set<TaskAttribute> attributes) {
+        if (attributes.isEmpty()) {
+            return positions;
+        }
+
+        long[] matches = matchesOf(attributes);
+        List<Integer> retained = new ArrayList<>();
+        for (int pos : positions) {
+            int key = keys.keyAt(pos);
+            if ((matches[key / WORD_BITS] & 1L << key) != 0) {
+                retained.add(pos);
+            }
+        }
+        return retained;
+    }
+
+    /**
+     * Returns a bitset of the keys of the tasks with the specified attributes. Keys not in use have no type, so they
+     * never match.
+     */
+    private long[] matchesOf(Set<TaskAttribute> attributes) {
+        boolean isStatusFiltered = attributes.contains(TaskAttribute.DONE)
+                || attributes.contains(TaskAttribute.PENDING);
+        long doneMask = attributes.contains(TaskAttribute.DONE) || !isStatusFiltered ? -1L : 0L;
+        long pendingMask = attributes.contains(TaskAttribute.PENDING) || !isStatusFiltered ? -1L : 0L;
+
+        boolean isTypeFiltered = attributes.contains(TaskAttribute.TODO)
+                || attributes.contains(TaskAttribute.DEADLINE) || attributes.contains(TaskAttribute.EVENT);
+        long todoMask = attributes.contains(TaskAttribute.TODO) || !isTypeFiltered ? -1L : 0L;
+        long deadlineMask = attributes.contains(TaskAttribute.DEADLINE) || !isTypeFiltered ? -1L : 0L;
+        long eventMask = attributes.contains(TaskAttribute.EVENT) || !isTypeFiltered ? -1L : 0L;
+
+        long[] matches = new long[wordCount(keys.keyLimit())];
+        for (int w = 0; w < matches.length; w++) {
+            long status = (done[w] & doneMask) | (~done[w] & pendingMask);
+            long type = (todos[w] & todoMask) | (deadlines[w] & deadlineMask) | (events[w] & eventMask);
+            matches[w] = status & type;
+        }
+        return matches;
+    }
+
+    private static int wordCount(int bits) {
+        return (bits + WORD_BITS - 1) / WORD_BITS;
+    }
+
+    private static void set(long[] bits, int key) {
+        bits[key / WORD_BITS] |= 1L << key;
+    }
+
+    private static void clear(long[] bits, int key) {
+        bits[key / WORD_BITS] &= ~(1L << key);
+    }
+
+    private void renumber(int[] oldKeys, int oldKeyCount) {
+        done = renumber(done, oldKeys, oldKeyCount);
+        todos = renumber(todos, oldKeys, oldKeyCount);
+        deadlines = renumber(deadlines, oldKeys, oldKeyCount);
+        events = renumber(events, oldKeys, oldKeyCount);
+    }
+
+    /**
+     * Returns a bitset of the same length with the bit of each old key moved to the index of the key in the array.
+     */
+    private static long[] renumber(long[] bits, int[] oldKeys, int oldKeyCount) {
+        long[] renumbered = new long[bits.length];
+        for (int i = 0; i < oldKeyCount; i++) {
+            if ((bits[oldKeys[i] / WORD_BITS] & 1L << oldKeys[i]) != 0) {
+                set(renumbered, i);
+            }
+        }
+        return renumbered;
+    }
+}
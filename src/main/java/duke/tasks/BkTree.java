@@ -0,0 +1,141 @@
+package duke.tasks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Models a BK-tree of words, which finds the words within an edit distance of a word without comparing it to every
+ * word.
+ *
+ * Each child of a node is at a different edit distance from the node's word. By the triangle inequality, the words
+ * within distance d of a query whose distance to a node's word is k can only be under the children at distances
+ * k - d to k + d, so the other children are never visited.
+ */
+class BkTree {
+    private Node root = null;
+    private int size = 0;
+
+    /**
+     * Adds the specified word, if it is not in the tree yet.
+     *
+     * @param word the word to add.
+     */
+    void add(String word) {
+        if (root == null) {
+            root = new Node(word);
+            size++;
+            return;
+        }
+
+        Node node = root;
+        while (true) {
+            int distance = editDistance(node.word, word, Integer.MAX_VALUE);
+            if (distance == 0) {
+                return;
+            }
+
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(word));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Returns the words within the specified edit distance of the specified word.
+     *
+     * @param word the word to look up.
+     * @param maxDistance the maximum number of single character insertions, deletions and substitutions.
+     * @return List of similar words.
+     */
+    List<String> findWithin(String word, int maxDistance) {
+        List<String> results = new ArrayList<>();
+        if (root == null) {
+            return results;
+        }
+
+        List<Node> toVisit = new ArrayList<>();
+        toVisit.add(root);
+        while (!toVisit.isEmpty()) {
+            Node node = toVisit.remove(toVisit.size() - 1);
+
+            // Distances beyond the largest child distance plus maxDistance reach no child, so they are capped.
+            int distance = editDistance(node.word, word, maxDistance + node.maxChildDistance());
+            if (distance <= maxDistance) {
+                results.add(node.word);
+            }
+
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                    toVisit.add(child.getValue());
+                }
+            }
+        }
+
+        return results;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the Levenshtein distance between the specified words, or any value above the specified limit if the
+     * distance is above it.
+     */
+    static int editDistance(String first, String second, int limit) {
+        if (Math.abs(first.length() - second.length()) > limit) {
+            return limit == Integer.MAX_VALUE ? limit : limit + 1;
+        }
+
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMinimum = i;
+            for (int j = 1; j <= second.length(); j++) {
+                int substitution = previous[j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > limit) {
+                return limit + 1;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[second.length()];
+    }
+
+    /**
+     * Represents a word in the tree, with its children keyed by their edit distance to the word.
+     */
+    private static class Node {
+        private final String word;
+        private final Map<Integer, Node> children = new HashMap<>(4);
+
+        private Node(String word) {
+            this.word = word;
+        }
+
+        private int maxChildDistance() {
+            int max = 0;
+            for (int distance : children.keySet()) {
+                max = Math.max(max, distance);
+            }
+            return max;
+        }
+    }
+}
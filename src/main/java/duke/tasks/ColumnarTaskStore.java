@@ -0,0 +1,136 @@
+package duke.tasks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Models a TaskStore which keeps Tasks in columns of primitives rather than as objects, to use less memory for long
+ * lists.
+ *
+ * Each slot has a type byte, a done bit, the date as minutes since 1970-01-01T00:00 and, for events with an end time,
+ * the end in another column. Descriptions are kept as UTF-8 in one shared byte array, with the offset and length of
+ * each. A new Task object is created each time a Task is read. Times are kept to the minute, which is the precision
+ * of every date the user can enter.
+ *
+ * The columns are filled when the store is constructed and not changed afterwards. Tasks which are added to or
+ * replaced in the list are held as objects by the list instead.
+ */
+class ColumnarTaskStore implements TaskStore {
+    private static final long NO_END = Long.MIN_VALUE;
+
+    private final byte[] types;
+    private final BitSet done = new BitSet();
+    private final long[] minutes;
+    private long[] endMinutes;
+    private final int[] offsets;
+    private final int[] lengths;
+    private byte[] descriptions;
+    private int descriptionBytes = 0;
+
+    /**
+     * Constructs a ColumnarTaskStore holding the specified Tasks in the slots from 0, in order. The Tasks are all
+     * read now, and the list is not used afterwards.
+     *
+     * @param initial the Tasks to start with.
+     */
+    ColumnarTaskStore(List<Task> initial) {
+        int size = initial.size();
+        this.types = new byte[size];
+        this.minutes = new long[size];
+        this.offsets = new int[size];
+        this.lengths = new int[size];
+        this.descriptions = new byte[Math.max(16, size * 16)];
+
+        int slot = 0;
+        for (Task task : initial) {
+            put(slot++, task);
+        }
+        this.descriptions = Arrays.copyOf(this.descriptions, this.descriptionBytes);
+    }
+
+    @Override
+    public Task get(int slot) {
+        String description = new String(this.descriptions, this.offsets[slot], this.lengths[slot],
+                StandardCharsets.UTF_8);
+
+        Task task;
+        switch (this.types[slot]) {
+        case 'T':
+            task = new ToDo(description);
+            break;
+
+        case 'D':
+            task = new Deadline(description, fromEpochMinute(this.minutes[slot]));
+            break;
+
+        case 'E':
+            long end = this.endMinutes == null ? NO_END : this.endMinutes[slot];
+            task = new Event(description, fromEpochMinute(this.minutes[slot]),
+                    end == NO_END ? null : fromEpochMinute(end));
+            break;
+
+        default:
+            throw new AssertionError(this.types[slot]);
+        }
+
+        if (this.done.get(slot)) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    private void put(int slot, Task task) {
+        assert task instanceof ToDo || task instanceof Event || task instanceof Deadline;
+
+        this.done.set(slot, task.isDone());
+        if (task instanceof ToDo) {
+            this.types[slot] = 'T';
+        } else if (task instanceof Deadline) {
+            this.types[slot] = 'D';
+            this.minutes[slot] = toEpochMinute(((Deadline) task).getLocalDateTime());
+        } else {
+            Event event = (Event) task;
+            this.types[slot] = 'E';
+            this.minutes[slot] = toEpochMinute(event.getLocalDateTime());
+            setEnd(slot, event.getEndLocalDateTime());
+        }
+
+        appendDescription(slot, task.getDescription().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void setEnd(int slot, LocalDateTime end) {
+        if (end == null && this.endMinutes == null) {
+            return;
+        }
+        if (this.endMinutes == null) {
+            this.endMinutes = new long[this.types.length];
+            Arrays.fill(this.endMinutes, NO_END);
+        }
+        this.endMinutes[slot] = end == null ? NO_END : toEpochMinute(end);
+    }
+
+    private void appendDescription(int slot, byte[] description) {
+        if (this.descriptionBytes + description.length > this.descriptions.length) {
+            int capacity = Math.max(this.descriptions.length * 2, this.descriptionBytes + description.length);
+            this.descriptions = Arrays.copyOf(this.descriptions, capacity);
+        }
+
+        System.arraycopy(description, 0, this.descriptions, this.descriptionBytes, description.length);
+        this.offsets[slot] = this.descriptionBytes;
+        this.lengths[slot] = description.length;
+        this.descriptionBytes += description.length;
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        assert dateTime.getSecond() == 0 && dateTime.getNano() == 0;
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+}
@@ -31,6 +31,17 @@ public class Deadline extends Task {
         this.dateTime = dateTime;
     }
 
+    @Override
+    Task copy() {
+        Deadline copy = new Deadline(this.description, this.dateTime);
+        copy.isDone = this.isDone;
+        return copy;
+    }
+
+    public LocalDateTime getLocalDateTime() {
+        return this.dateTime;
+    }
+
     public String getDateTime() {
         return this.dateTime.format(DateTimeFormatter.ofPattern("dd MMM yyyy, h:mm a"));
     }
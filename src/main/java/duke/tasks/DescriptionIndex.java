@@ -0,0 +1,150 @@
+package duke.tasks;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Models an index from the trigrams (runs of three characters) in task descriptions to the tasks containing them,
+ * kept in step with a TaskList.
+ *
+ * A description can only contain a piece of text if it contains every trigram of that text, so the tasks which may
+ * match a find query are those in the postings of all trigrams of the literal text the query requires. Characters
+ * are indexed in lower case, one at a time, so that queries ignoring case are narrowed down correctly.
+ */
+class DescriptionIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, Posting> postings = new HashMap<>();
+    private final TaskKeys keys = new TaskKeys();
+
+    /**
+     * Constructs a DescriptionIndex over the specified Tasks, in list order.
+     *
+     * @param tasks all Tasks in the TaskList.
+     */
+    DescriptionIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Adds the specified Task, which was added to the end of the TaskList.
+     *
+     * @param task the added Task.
+     */
+    void add(Task task) {
+        int key = keys.add(postings.values());
+
+        for (long trigram : trigrams(task.getDescription())) {
+            postings.computeIfAbsent(trigram, t -> new Posting()).add(key);
+        }
+    }
+
+    /**
+     * Removes the specified Task, which was removed from the specified position of the TaskList.
+     *
+     * @param pos position the Task was removed from.
+     * @param task the removed Task.
+     */
+    void remove(int pos, Task task) {
+        int key = keys.remove(pos);
+
+        for (long trigram : trigrams(task.getDescription())) {
+            Posting posting = postings.get(trigram);
+            posting.remove(key);
+            if (posting.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Returns the positions of the tasks whose descriptions may match the specified find query, ignoring case.
+     * Every task which does match is included, but some included tasks may not, so each must still be checked.
+     *
+     * @param query the find query, which must be a valid regular expression.
+     * @return sorted positions of the candidate tasks, or null if the query cannot be narrowed down.
+     */
+    int[] findCandidates(String query) {
+        List<List<String>> alternatives = QueryLiterals.requiredLiterals(query);
+        if (alternatives == null) {
+            return null;
+        }
+
+        int[] candidates = new int[0];
+        for (List<String> literals : alternatives) {
+            int[] alternativeCandidates = null;
+            for (String literal : literals) {
+                alternativeCandidates = keysContaining(literal, alternativeCandidates);
+            }
+
+            if (alternativeCandidates == null) {
+                // Nothing in this alternative is long enough to look up, so it could match any task.
+                return null;
+            }
+            candidates = Posting.union(candidates, alternativeCandidates);
+        }
+
+        return toPositions(candidates);
+    }
+
+    /**
+     * Returns the keys of tasks which may contain the specified literal, out of the specified sorted keys, or out of
+     * all keys if the specified keys are null. Returns the specified keys if the literal is too short to look up.
+     */
+    private int[] keysContaining(String literal, int[] within) {
+        int[] result = within;
+
+        Set<Long> trigrams = trigrams(literal);
+        Posting[] literalPostings = new Posting[trigrams.size()];
+        int i = 0;
+        for (long trigram : trigrams) {
+            Posting posting = postings.get(trigram);
+            if (posting == null) {
+                return new int[0];
+            }
+            literalPostings[i++] = posting;
+        }
+
+        // Intersecting the shortest postings first keeps the intermediate results small.
+        Arrays.sort(literalPostings, (first, second) -> Integer.compare(first.size(), second.size()));
+        for (Posting posting : literalPostings) {
+            result = result == null ? posting.toArray() : posting.intersect(result);
+            if (result.length == 0) {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    private int[] toPositions(int[] sortedKeys) {
+        int[] positions = new int[sortedKeys.length];
+        for (int i = 0; i < sortedKeys.length; i++) {
+            positions[i] = keys.positionOf(sortedKeys[i]);
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the distinct trigrams in the specified text, with each character in lower case, packed into longs.
+     */
+    private static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            long trigram = 0;
+            for (int j = i; j < i + GRAM_LENGTH; j++) {
+                trigram = (trigram << Character.SIZE) | Character.toLowerCase(text.charAt(j));
+            }
+            trigrams.add(trigram);
+        }
+
+        return trigrams;
+    }
+}
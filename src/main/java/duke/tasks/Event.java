@@ -4,10 +4,11 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
- * Models an event task with a date and time.
+ * Models an event task with a date and time, and optionally an end date and time.
  */
 public class Event extends Task {
     private LocalDateTime dateTime;
+    private LocalDateTime endDateTime;
 
     /**
      * Constructs a Event task object. Overloaded constructor to take in a String dateTime parameter.
@@ -31,26 +32,85 @@ public class Event extends Task {
         this.dateTime = dateTime;
     }
 
+    /**
+     * Constructs a Event task object which lasts from the specified start to the specified end.
+     *
+     * @param description the description of the Event task.
+     * @param dateTime the date and time this event starts, as a LocalDateTime.
+     * @param endDateTime the date and time this event ends, which must be after the start, or null if the event
+     *     has no end time.
+     */
+    public Event(String description, LocalDateTime dateTime, LocalDateTime endDateTime) {
+        super(description);
+        assert endDateTime == null || endDateTime.isAfter(dateTime);
+        this.dateTime = dateTime;
+        this.endDateTime = endDateTime;
+    }
+
+    @Override
+    Task copy() {
+        Event copy = new Event(this.description, this.dateTime, this.endDateTime);
+        copy.isDone = this.isDone;
+        return copy;
+    }
+
+    public LocalDateTime getLocalDateTime() {
+        return this.dateTime;
+    }
+
+    public LocalDateTime getEndLocalDateTime() {
+        return this.endDateTime;
+    }
+
+    /**
+     * Checks if this Event and the specified Event take place at the same time. An event with an end time takes up
+     * its start up to, but not including, its end; an event without one takes up only its start.
+     *
+     * @param other the other Event.
+     * @return boolean indicating if the Events overlap.
+     */
+    public boolean overlaps(Event other) {
+        return this.dateTime.isBefore(other.getEndExclusive()) && other.dateTime.isBefore(this.getEndExclusive());
+    }
+
+    /**
+     * Returns the earliest time after this Event, for comparing it with other Events.
+     *
+     * @return the end time, or just after the start time if this Event has no end time.
+     */
+    LocalDateTime getEndExclusive() {
+        return this.endDateTime != null ? this.endDateTime : this.dateTime.plusNanos(1);
+    }
+
     public String getDateTime() {
         return this.dateTime.format(DateTimeFormatter.ofPattern("dd MMM yyyy, h:mm a"));
     }
 
     /**
-     * Returns a specific String format of this Event's date to store locally when writing to file.
+     * Returns a specific String format of this Event's date, and end date if any, to store locally when writing to
+     * file.
      *
      * @return String format of this Event's date.
      */
     public String getDateForFile() {
-        return this.dateTime.format(DateTimeFormatter.ofPattern("d/M/yyyy HHmm"));
+        DateTimeFormatter fileFormatter = DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
+        if (this.endDateTime == null) {
+            return this.dateTime.format(fileFormatter);
+        }
+        return this.dateTime.format(fileFormatter) + " /to " + this.endDateTime.format(fileFormatter);
     }
 
     /**
-     * Returns String description of this Event task, identified by "[E]", along with the date of this Event.
+     * Returns String description of this Event task, identified by "[E]", along with the dates of this Event.
      *
      * @return String description.
      */
     @Override
     public String toString() {
-        return "[E]" + super.toString() + " (at: " + this.getDateTime() + ")";
+        if (this.endDateTime == null) {
+            return "[E]" + super.toString() + " (at: " + this.getDateTime() + ")";
+        }
+        return "[E]" + super.toString() + " (at: " + this.getDateTime() + " to "
+                + this.endDateTime.format(DateTimeFormatter.ofPattern("dd MMM yyyy, h:mm a")) + ")";
     }
 }
@@ -0,0 +1,632 @@
+package duke.tasks;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Models a list of Tasks in which every Task has a stable ID, in which Tasks are added, removed and found by
+ * position in O(log n) time, and of which an unchanging snapshot is taken in constant time.
+ *
+ * The positions are kept in a persistent treap, in which every node holds the size of its subtree, so a position is
+ * found by walking down from the root. Nodes are never changed once made: a change copies the nodes on the path from
+ * the root to the changed position, and shares every other node with the previous version of the list. A snapshot
+ * is the root of one version, and stays the same however the list is changed afterwards.
+ *
+ * As nodes do not link to their parents, the position of a Task cannot be found by walking up from its node. Each
+ * node instead has a label, and labels increase in list order, so the node of a Task is found from its label by
+ * walking down from the root. The label of each ID is kept in an array. A Task added between two others is labelled
+ * halfway between them, and in the rare case that no label is left between them, every Task is labelled afresh.
+ *
+ * The Task of an ID in the current version is also found in constant time, from an array holding the node of each
+ * ID, which is changed with the list. Each snapshot knows the ID its change touched and the version it was made
+ * from, so restoring the version just before or after the current one, as undo and redo do, only changes the node of
+ * that ID. Restoring any other snapshot fills the array afresh.
+ *
+ * IDs are given out in increasing order as Tasks are added, and are not reused while the list is in use. They are
+ * not stored with the Tasks, so they are only stable until the program exits.
+ */
+class IndexedTaskList extends AbstractList<Task> {
+    private static final long LABEL_GAP = 1L << 20;
+
+    private final TaskStore store;
+    private Snapshot current;
+    private volatile AtomicReferenceArray<Node> nodesById;
+    private int nextId;
+    private long nextVersion = 1;
+
+    IndexedTaskList() {
+        this(null, null, 0);
+    }
+
+    /**
+     * Constructs an IndexedTaskList of the first Tasks in the specified TaskStore, in order, giving them IDs from 0.
+     * The Tasks are read from the TaskStore each time they are accessed, until they are replaced.
+     *
+     * @param store the TaskStore, holding the Tasks in its first slots.
+     * @param size the number of Tasks in the TaskStore.
+     */
+    IndexedTaskList(TaskStore store, int size) {
+        this(store, null, size);
+    }
+
+    /**
+     * Constructs an IndexedTaskList of the specified Tasks, in order, giving them IDs from 0. Tasks of an ArrayList
+     * are copied. Tasks of other lists, such as lists which read Tasks from a file only when they are accessed, are
+     * instead read from that list each time they are accessed until they are replaced, so they are not all read up
+     * front. The specified list must not be modified afterwards.
+     *
+     * @param tasks the Tasks in the list.
+     */
+    IndexedTaskList(List<Task> tasks) {
+        this(tasks instanceof ArrayList ? null : readFrom(tasks),
+                tasks instanceof ArrayList ? tasks.toArray(new Task[0]) : null, tasks.size());
+    }
+
+    private IndexedTaskList(TaskStore store, Task[] tasks, int size) {
+        this.store = store;
+        int[] ids = new int[size];
+        for (int id = 0; id < size; id++) {
+            ids[id] = id;
+        }
+
+        long[] labels = new long[Math.max(16, size)];
+        this.current = new Snapshot(build(ids, tasks, size, labels), labels, store, 0, -1, -1);
+        this.nextId = size;
+        this.nodesById = nodesOf(this.current, labels.length);
+    }
+
+    /**
+     * Returns a TaskStore reading from the specified list. Such lists may cache what they read, so they are only read
+     * from one thread at a time.
+     */
+    private static TaskStore readFrom(List<Task> tasks) {
+        return slot -> {
+            synchronized (tasks) {
+                return tasks.get(slot);
+            }
+        };
+    }
+
+    @Override
+    public Task get(int index) {
+        return this.current.get(index);
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Node node = this.current.nodeAt(index);
+        Node replaced = new Node(node.id, node.label, task, null, null);
+        this.current = next(replace(this.current.root, index, replaced), this.current.labels, node.id);
+        this.nodesById.set(node.id, replaced);
+        return this.current.taskOf(node);
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        int id = this.nextId++;
+        long label = labelFor(index);
+        long[] labels = this.current.labels;
+        if (id >= labels.length) {
+            // Snapshots keep the array they were taken with, which holds the labels of all of their Tasks. The array
+            // of a restored snapshot may be shorter than the IDs given out since.
+            labels = Arrays.copyOf(labels, Math.max(labels.length * 2, id + 1));
+        }
+        labels[id] = label;
+
+        Node added = new Node(id, label, task, null, null);
+        this.current = next(insert(this.current.root, index, added), labels, id);
+        if (id >= this.nodesById.length()) {
+            this.nodesById = copyOf(this.nodesById, labels.length);
+        }
+        this.nodesById.set(id, added);
+        this.modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Node removed = this.current.nodeAt(index);
+        Task task = this.current.taskOf(removed);
+        this.current = next(delete(this.current.root, index), this.current.labels, removed.id);
+        this.nodesById.set(removed.id, null);
+        this.modCount++;
+        return task;
+    }
+
+    @Override
+    public int size() {
+        return this.current.size();
+    }
+
+    /**
+     * Returns the Tasks in order, walking the treap rather than finding each position from the root. The iterator
+     * goes through the list as it was when the iterator was created.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return this.current.iterator();
+    }
+
+    /**
+     * Returns the ID of the Task at the specified position.
+     *
+     * @param index position of the Task.
+     * @return ID of the Task.
+     */
+    int idAt(int index) {
+        return this.current.idAt(index);
+    }
+
+    /**
+     * Returns the Task with the specified ID, in constant time. This may be called from any thread while the list is
+     * changed, and returns the Task as it was before or after the change.
+     *
+     * @param id ID of the Task.
+     * @return the Task, or null if no Task in the list has the ID.
+     */
+    Task getById(int id) {
+        AtomicReferenceArray<Node> nodes = this.nodesById;
+        Node node = id >= 0 && id < nodes.length() ? nodes.get(id) : null;
+        return node == null ? null : node.task != null ? node.task : this.store.get(node.id);
+    }
+
+    /**
+     * Returns the position of the Task with the specified ID.
+     *
+     * @param id ID of the Task.
+     * @return position of the Task, or -1 if no Task in the list has the ID.
+     */
+    int positionOf(int id) {
+        return this.current.positionOf(id);
+    }
+
+    /**
+     * Returns the list as it is now, which is not changed by later changes to this list.
+     *
+     * @return snapshot of the list.
+     */
+    Snapshot snapshot() {
+        return this.current;
+    }
+
+    /**
+     * Changes the list back, or forward again, to the specified snapshot of it. IDs given out since are not given out
+     * again.
+     *
+     * @param snapshot a snapshot taken of this list.
+     */
+    void restore(Snapshot snapshot) {
+        Snapshot previous = this.current;
+        this.current = snapshot;
+        if (previous.baseVersion == snapshot.version) {
+            this.nodesById.set(previous.changedId, snapshot.nodeOf(previous.changedId));
+        } else if (snapshot.baseVersion == previous.version) {
+            this.nodesById.set(snapshot.changedId, snapshot.nodeOf(snapshot.changedId));
+        } else if (previous.version != snapshot.version) {
+            this.nodesById = nodesOf(snapshot, this.nodesById.length());
+        }
+        this.modCount++;
+    }
+
+    /**
+     * Returns a new version of the list, made from the current one by a change to the Task with the specified ID.
+     */
+    private Snapshot next(Node root, long[] labels, int changedId) {
+        return new Snapshot(root, labels, this.store, this.nextVersion++, this.current.version, changedId);
+    }
+
+    /**
+     * Returns an array of the specified length holding the node of each ID in the specified snapshot.
+     */
+    private static AtomicReferenceArray<Node> nodesOf(Snapshot snapshot, int length) {
+        AtomicReferenceArray<Node> nodes = new AtomicReferenceArray<>(length);
+        for (Iterator<Node> iterator = snapshot.nodes(); iterator.hasNext(); ) {
+            Node node = iterator.next();
+            nodes.set(node.id, node);
+        }
+        return nodes;
+    }
+
+    private static AtomicReferenceArray<Node> copyOf(AtomicReferenceArray<Node> nodes, int length) {
+        AtomicReferenceArray<Node> copy = new AtomicReferenceArray<>(length);
+        for (int id = 0; id < nodes.length(); id++) {
+            copy.set(id, nodes.get(id));
+        }
+        return copy;
+    }
+
+    /**
+     * Returns a label between those of the Tasks either side of the specified position, labelling every Task afresh
+     * first if there is none.
+     */
+    private long labelFor(int index) {
+        int size = size();
+        if (size == 0) {
+            return 0;
+        }
+
+        long before = index > 0 ? this.current.nodeAt(index - 1).label : Long.MIN_VALUE;
+        long after = index < size ? this.current.nodeAt(index).label : Long.MAX_VALUE;
+        boolean isGapLeft = index == 0 ? after > Long.MIN_VALUE + LABEL_GAP
+                : index == size ? before < Long.MAX_VALUE - LABEL_GAP
+                : after - before > 1;
+        if (!isGapLeft) {
+            relabel();
+            return labelFor(index);
+        }
+
+        if (index == 0) {
+            return after - LABEL_GAP;
+        } else if (index == size) {
+            return before + LABEL_GAP;
+        } else {
+            return before + (after - before) / 2;
+        }
+    }
+
+    /**
+     * Rebuilds the treap with labels evenly spaced again. The labels are kept in a new array, as snapshots taken
+     * earlier still use the old labels.
+     */
+    private void relabel() {
+        int size = size();
+        int[] ids = new int[size];
+        Task[] tasks = new Task[size];
+        int i = 0;
+        for (Iterator<Node> nodes = this.current.nodes(); nodes.hasNext(); i++) {
+            Node node = nodes.next();
+            ids[i] = node.id;
+            tasks[i] = node.task;
+        }
+
+        // The Tasks of every ID are unchanged, so the new version stands for the same change as the old one.
+        long[] labels = new long[this.current.labels.length];
+        this.current = new Snapshot(build(ids, tasks, size, labels), labels, this.store, this.current.version,
+                this.current.baseVersion, this.current.changedId);
+    }
+
+    /**
+     * Builds the treap of the specified IDs in order, in O(n) time, with the specified Tasks or with Tasks left in
+     * the TaskStore if there are none. The label of each ID is set in the specified array.
+     */
+    private static Node build(int[] ids, Task[] tasks, int size, long[] labels) {
+        // The treap is built from left to right, keeping the path down its right side in a stack. The nodes are
+        // only made once the shape is known, as they cannot be changed afterwards.
+        int[] leftChild = new int[size];
+        int[] rightChild = new int[size];
+        Arrays.fill(leftChild, -1);
+        Arrays.fill(rightChild, -1);
+        int[] rightPath = new int[size];
+        int depth = 0;
+        for (int i = 0; i < size; i++) {
+            int last = -1;
+            while (depth > 0 && priorityOf(ids[rightPath[depth - 1]]) < priorityOf(ids[i])) {
+                last = rightPath[--depth];
+            }
+            leftChild[i] = last;
+            if (depth > 0) {
+                rightChild[rightPath[depth - 1]] = i;
+            }
+            rightPath[depth++] = i;
+        }
+
+        for (int i = 0; i < size; i++) {
+            labels[ids[i]] = i * LABEL_GAP;
+        }
+        return depth == 0 ? null : makeNode(rightPath[0], ids, tasks, leftChild, rightChild);
+    }
+
+    private static Node makeNode(int i, int[] ids, Task[] tasks, int[] leftChild, int[] rightChild) {
+        Node left = leftChild[i] < 0 ? null : makeNode(leftChild[i], ids, tasks, leftChild, rightChild);
+        Node right = rightChild[i] < 0 ? null : makeNode(rightChild[i], ids, tasks, leftChild, rightChild);
+        return new Node(ids[i], i * LABEL_GAP, tasks == null ? null : tasks[i], left, right);
+    }
+
+    private static Node insert(Node node, int index, Node added) {
+        if (node == null) {
+            return added;
+        }
+
+        if (priorityOf(added.id) > priorityOf(node.id)) {
+            Node[] parts = split(node, index);
+            return added.withChildren(parts[0], parts[1]);
+        }
+
+        int leftSize = sizeOf(node.left);
+        if (index <= leftSize) {
+            return node.withChildren(insert(node.left, index, added), node.right);
+        } else {
+            return node.withChildren(node.left, insert(node.right, index - leftSize - 1, added));
+        }
+    }
+
+    /**
+     * Splits the specified treap into the treap of its first Tasks, up to the specified position, and the treap of
+     * the rest.
+     */
+    private static Node[] split(Node node, int index) {
+        if (node == null) {
+            return new Node[2];
+        }
+
+        int leftSize = sizeOf(node.left);
+        if (index <= leftSize) {
+            Node[] parts = split(node.left, index);
+            parts[1] = node.withChildren(parts[1], node.right);
+            return parts;
+        } else {
+            Node[] parts = split(node.right, index - leftSize - 1);
+            parts[0] = node.withChildren(node.left, parts[0]);
+            return parts;
+        }
+    }
+
+    private static Node delete(Node node, int index) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            return node.withChildren(delete(node.left, index), node.right);
+        } else if (index > leftSize) {
+            return node.withChildren(node.left, delete(node.right, index - leftSize - 1));
+        } else {
+            return merge(node.left, node.right);
+        }
+    }
+
+    private static Node merge(Node leftNode, Node rightNode) {
+        if (leftNode == null) {
+            return rightNode;
+        }
+        if (rightNode == null) {
+            return leftNode;
+        }
+
+        if (priorityOf(leftNode.id) > priorityOf(rightNode.id)) {
+            return leftNode.withChildren(leftNode.left, merge(leftNode.right, rightNode));
+        } else {
+            return rightNode.withChildren(merge(leftNode, rightNode.left), rightNode.right);
+        }
+    }
+
+    private static Node replace(Node node, int index, Node replaced) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            return node.withChildren(replace(node.left, index, replaced), node.right);
+        } else if (index > leftSize) {
+            return node.withChildren(node.left, replace(node.right, index - leftSize - 1, replaced));
+        } else {
+            return replaced.withChildren(node.left, node.right);
+        }
+    }
+
+    /**
+     * Returns the priority of the node with the specified ID in the treap. Priorities are scrambled from the IDs
+     * rather than drawn at random, so that nodes need not hold them, and no two IDs have the same priority.
+     */
+    private static int priorityOf(int id) {
+        int hash = (id ^ (id >>> 16)) * 0x85EBCA6B;
+        hash = (hash ^ (hash >>> 13)) * 0xC2B2AE35;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int sizeOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Represents a node of the treap, which is never changed once made.
+     */
+    private static final class Node {
+        private final int id;
+        private final int size;
+        private final long label;
+        private final Task task;
+        private final Node left;
+        private final Node right;
+
+        /**
+         * Constructs a node holding the specified Task, or leaving the Task with its ID in the TaskStore if the Task
+         * is null.
+         */
+        private Node(int id, long label, Task task, Node left, Node right) {
+            this.id = id;
+            this.label = label;
+            this.task = task;
+            this.left = left;
+            this.right = right;
+            this.size = sizeOf(left) + sizeOf(right) + 1;
+        }
+
+        private Node withChildren(Node left, Node right) {
+            return new Node(this.id, this.label, this.task, left, right);
+        }
+    }
+
+    /**
+     * Models one version of an IndexedTaskList, which cannot be changed. A Snapshot may be read from several threads
+     * at once, including while the list it was taken from is changed.
+     */
+    static final class Snapshot extends AbstractList<Task> implements RandomAccess {
+        private final Node root;
+        private final long[] labels;
+        private final TaskStore store;
+        private final long version;
+        private final long baseVersion;
+        private final int changedId;
+
+        /**
+         * Constructs the specified version of the list, made from the specified base version by a change to the Task
+         * with the specified ID.
+         */
+        private Snapshot(Node root, long[] labels, TaskStore store, long version, long baseVersion, int changedId) {
+            this.root = root;
+            this.labels = labels;
+            this.store = store;
+            this.version = version;
+            this.baseVersion = baseVersion;
+            this.changedId = changedId;
+        }
+
+        @Override
+        public Task get(int index) {
+            return taskOf(nodeAt(index));
+        }
+
+        @Override
+        public int size() {
+            return sizeOf(this.root);
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            Iterator<Node> nodes = nodes();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return nodes.hasNext();
+                }
+
+                @Override
+                public Task next() {
+                    return taskOf(nodes.next());
+                }
+            };
+        }
+
+        /**
+         * Returns the ID of the Task at the specified position.
+         *
+         * @param index position of the Task.
+         * @return ID of the Task.
+         */
+        int idAt(int index) {
+            return nodeAt(index).id;
+        }
+
+        /**
+         * Returns the Task with the specified ID.
+         *
+         * @param id ID of the Task.
+         * @return the Task, or null if no Task in this snapshot has the ID.
+         */
+        Task getById(int id) {
+            Node node = nodeOf(id);
+            return node == null ? null : taskOf(node);
+        }
+
+        /**
+         * Returns the position of the Task with the specified ID.
+         *
+         * @param id ID of the Task.
+         * @return position of the Task, or -1 if no Task in this snapshot has the ID.
+         */
+        int positionOf(int id) {
+            Node node = nodeOf(id);
+            return node == null ? -1 : positionOfLabel(node.label);
+        }
+
+        /**
+         * Returns the node of the Task with the specified ID, or null if no Task in this snapshot has the ID.
+         */
+        private Node nodeOf(int id) {
+            if (id < 0 || id >= this.labels.length) {
+                return null;
+            }
+
+            // The array may hold labels of IDs added after this snapshot, which may be those of removed Tasks, so
+            // the node found must also have the ID.
+            long label = this.labels[id];
+            Node node = this.root;
+            while (node != null) {
+                if (label < node.label) {
+                    node = node.left;
+                } else if (label > node.label) {
+                    node = node.right;
+                } else {
+                    return node.id == id ? node : null;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns the position of the node with the specified label, which must be in this snapshot.
+         */
+        private int positionOfLabel(long label) {
+            int position = 0;
+            Node node = this.root;
+            while (label != node.label) {
+                if (label < node.label) {
+                    node = node.left;
+                } else {
+                    position += sizeOf(node.left) + 1;
+                    node = node.right;
+                }
+            }
+            return position + sizeOf(node.left);
+        }
+
+        private Task taskOf(Node node) {
+            return node.task != null ? node.task : this.store.get(node.id);
+        }
+
+        private Node nodeAt(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+
+            Node node = this.root;
+            while (true) {
+                int leftSize = sizeOf(node.left);
+                if (index < leftSize) {
+                    node = node.left;
+                } else if (index > leftSize) {
+                    index -= leftSize + 1;
+                    node = node.right;
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        /**
+         * Returns the nodes in order, keeping the path from the root to the next node in a stack.
+         */
+        private Iterator<Node> nodes() {
+            Deque<Node> path = new ArrayDeque<>();
+            for (Node node = this.root; node != null; node = node.left) {
+                path.push(node);
+            }
+
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return !path.isEmpty();
+                }
+
+                @Override
+                public Node next() {
+                    if (path.isEmpty()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    Node next = path.pop();
+                    for (Node node = next.right; node != null; node = node.left) {
+                        path.push(node);
+                    }
+                    return next;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package duke.tasks;
+
+import java.time.LocalDateTime;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Models an index of events by the time they take up, kept in step with a TaskList, so that the events overlapping
+ * a period are found without checking every event.
+ *
+ * The index is a treap ordered by start and then end time, in which every node also holds the latest end time in its
+ * subtree. A search skips every subtree which ends before the period starts, and stops going right once events start
+ * after the period ends, so finding the k events overlapping a period takes O(log n + k) expected time.
+ */
+class IntervalIndex {
+    private final TaskKeys keys = new TaskKeys();
+    private final Collection<Posting> postings = new PostingView();
+    private final Random random = new Random();
+    private Node root;
+    private int nodeCount = 0;
+
+    /**
+     * Constructs an IntervalIndex over the specified Tasks, in list order.
+     *
+     * @param tasks all Tasks in the TaskList.
+     */
+    IntervalIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Adds the specified Task, which was added to the end of the TaskList.
+     *
+     * @param task the added Task.
+     */
+    void add(Task task) {
+        int key = keys.add(postings);
+
+        if (task instanceof Event) {
+            Event event = (Event) task;
+            root = insert(root, event.getLocalDateTime(), event.getEndExclusive(), key);
+        }
+    }
+
+    /**
+     * Removes the specified Task, which was removed from the specified position of the TaskList.
+     *
+     * @param pos position the Task was removed from.
+     * @param task the removed Task.
+     */
+    void remove(int pos, Task task) {
+        int key = keys.remove(pos);
+
+        if (task instanceof Event) {
+            Event event = (Event) task;
+            root = delete(root, event.getLocalDateTime(), event.getEndExclusive(), key);
+        }
+    }
+
+    /**
+     * Returns the positions of the events which overlap the period from the specified start up to, but not
+     * including, the specified end, ordered by start time.
+     *
+     * @param start start of the period.
+     * @param end end of the period, which is after the start.
+     * @return positions of the overlapping events.
+     */
+    List<Integer> findOverlapping(LocalDateTime start, LocalDateTime end) {
+        List<Integer> positions = new ArrayList<>();
+        collectOverlapping(root, start, end, positions);
+        return positions;
+    }
+
+    /**
+     * Returns every pair of events which overlap, as pairs of positions with the event starting first, or in case
+     * of a tie, the earlier in the list, first. Pairs are ordered by their first event and then their second, both
+     * by start time.
+     *
+     * The events are swept in order of start time while keeping the events which have not yet ended in a heap by end
+     * time, so this takes O(n log n + k) time for k pairs rather than comparing every two events.
+     *
+     * @return pairs of positions of overlapping events.
+     */
+    List<int[]> findAllOverlapping() {
+        List<Node> nodes = new ArrayList<>(nodeCount);
+        collectInOrder(root, nodes);
+
+        List<int[]> pairs = new ArrayList<>();
+        // Each entry holds the index of an event in start order and the node it belongs to.
+        PriorityQueue<int[]> active = new PriorityQueue<>((a, b) ->
+                nodes.get(a[1]).end.compareTo(nodes.get(b[1]).end));
+        int order = 0;
+        int[] positionsInOrder = new int[keys.size()];
+
+        for (int n = 0; n < nodes.size(); n++) {
+            Node node = nodes.get(n);
+            while (!active.isEmpty() && !nodes.get(active.peek()[1]).end.isAfter(node.start)) {
+                active.poll();
+            }
+
+            for (int i = 0; i < node.posting.size(); i++) {
+                int current = order++;
+                positionsInOrder[current] = keys.positionOf(node.posting.keyAt(i));
+                for (int[] other : active) {
+                    pairs.add(new int[] {other[0], current});
+                }
+                active.add(new int[] {current, n});
+            }
+        }
+
+        pairs.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+        for (int[] pair : pairs) {
+            pair[0] = positionsInOrder[pair[0]];
+            pair[1] = positionsInOrder[pair[1]];
+        }
+        return pairs;
+    }
+
+    private void collectOverlapping(Node node, LocalDateTime start, LocalDateTime end, List<Integer> positions) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return;
+        }
+
+        collectOverlapping(node.left, start, end, positions);
+        if (!node.start.isBefore(end)) {
+            return;
+        }
+        if (node.end.isAfter(start)) {
+            for (int i = 0; i < node.posting.size(); i++) {
+                positions.add(keys.positionOf(node.posting.keyAt(i)));
+            }
+        }
+        collectOverlapping(node.right, start, end, positions);
+    }
+
+    private static void collectInOrder(Node node, List<Node> nodes) {
+        if (node == null) {
+            return;
+        }
+        collectInOrder(node.left, nodes);
+        nodes.add(node);
+        collectInOrder(node.right, nodes);
+    }
+
+    private Node insert(Node node, LocalDateTime start, LocalDateTime end, int key) {
+        if (node == null) {
+            nodeCount++;
+            Node created = new Node(start, end, random.nextInt());
+            created.posting.add(key);
+            return created;
+        }
+
+        int order = compare(start, end, node);
+        if (order == 0) {
+            node.posting.add(key);
+            return node;
+        }
+
+        if (order < 0) {
+            node.left = insert(node.left, start, end, key);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, start, end, key);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node delete(Node node, LocalDateTime start, LocalDateTime end, int key) {
+        assert node != null;
+
+        int order = compare(start, end, node);
+        if (order < 0) {
+            node.left = delete(node.left, start, end, key);
+        } else if (order > 0) {
+            node.right = delete(node.right, start, end, key);
+        } else {
+            node.posting.remove(key);
+            if (!node.posting.isEmpty()) {
+                return node;
+            }
+            nodeCount--;
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        } else {
+            right.left = merge(left, right.left);
+            right.update();
+            return right;
+        }
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        return right;
+    }
+
+    private static int compare(LocalDateTime start, LocalDateTime end, Node node) {
+        int order = start.compareTo(node.start);
+        return order != 0 ? order : end.compareTo(node.end);
+    }
+
+    /**
+     * Models the events which take up the same period, with the latest end time of its subtree.
+     */
+    private static class Node {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int priority;
+        private final Posting posting = new Posting();
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(LocalDateTime start, LocalDateTime end, int priority) {
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+
+    /**
+     * Models the Postings of every node, which are only needed when the keys run out and are given out again.
+     */
+    private class PostingView extends AbstractCollection<Posting> {
+        @Override
+        public Iterator<Posting> iterator() {
+            List<Node> nodes = new ArrayList<>(nodeCount);
+            collectInOrder(root, nodes);
+
+            List<Posting> nodePostings = new ArrayList<>(nodes.size());
+            for (Node node : nodes) {
+                nodePostings.add(node.posting);
+            }
+            return nodePostings.iterator();
+        }
+
+        @Override
+        public int size() {
+            return nodeCount;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package duke.tasks;
+
+import java.util.Arrays;
+
+/**
+ * Models a sorted set of task keys, stored as an array of ints. Keys are given out in increasing order, so adding
+ * a new key only appends it. Each key may also have a count, such as the number of times a word appears in the
+ * task.
+ */
+class Posting {
+    private int[] keys = new int[4];
+    private int[] counts = null;
+    private int size = 0;
+
+    /**
+     * Adds a key larger than every key already in this Posting.
+     *
+     * @param key the key to add.
+     */
+    void add(int key) {
+        assert size == 0 || key > keys[size - 1];
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, keys.length * 2);
+        }
+        keys[size++] = key;
+    }
+
+    /**
+     * Adds a key larger than every key already in this Posting, with the specified count.
+     *
+     * @param key the key to add.
+     * @param count the count of the key.
+     */
+    void add(int key, int count) {
+        if (counts == null) {
+            counts = new int[keys.length];
+        }
+
+        add(key);
+        if (counts.length < keys.length) {
+            counts = Arrays.copyOf(counts, keys.length);
+        }
+        counts[size - 1] = count;
+    }
+
+    /**
+     * Removes the specified key, if it is in this Posting.
+     *
+     * @param key the key to remove.
+     */
+    void remove(int key) {
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index >= 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            if (counts != null) {
+                System.arraycopy(counts, index + 1, counts, index, size - index - 1);
+            }
+            size--;
+        }
+    }
+
+    /**
+     * Replaces every key using the specified sorted array of old keys, giving each key its index in the array.
+     *
+     * @param oldKeys sorted array containing every key in this Posting.
+     * @param oldKeyCount number of keys in use at the start of the array.
+     */
+    void renumber(int[] oldKeys, int oldKeyCount) {
+        for (int i = 0; i < size; i++) {
+            keys[i] = Arrays.binarySearch(oldKeys, 0, oldKeyCount, keys[i]);
+            assert keys[i] >= 0;
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int keyAt(int index) {
+        return keys[index];
+    }
+
+    int countAt(int index) {
+        return counts[index];
+    }
+
+    /**
+     * Returns the keys in this Posting, in increasing order.
+     *
+     * @return new array of keys.
+     */
+    int[] toArray() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    /**
+     * Returns the keys in both this Posting and the specified sorted keys, in increasing order.
+     *
+     * @param others sorted keys.
+     * @return new array of keys in both.
+     */
+    int[] intersect(int[] others) {
+        return intersect(keys, size, others, others.length);
+    }
+
+    /**
+     * Returns the keys in both of the specified sorted arrays of keys, in increasing order.
+     *
+     * @param first sorted keys.
+     * @param second sorted keys.
+     * @return new array of keys in both.
+     */
+    static int[] intersect(int[] first, int[] second) {
+        return intersect(first, first.length, second, second.length);
+    }
+
+    private static int[] intersect(int[] first, int firstLength, int[] second, int secondLength) {
+        int[] result = new int[Math.min(firstLength, secondLength)];
+        int count = 0;
+
+        int i = 0;
+        int j = 0;
+        while (i < firstLength && j < secondLength) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[count++] = first[i];
+                i++;
+                j++;
+            }
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Returns the keys in either of the specified sorted arrays of keys, in increasing order.
+     *
+     * @param first sorted keys.
+     * @param second sorted keys.
+     * @return new array of keys in either.
+     */
+    static int[] union(int[] first, int[] second) {
+        int[] result = new int[first.length + second.length];
+        int count = 0;
+
+        int i = 0;
+        int j = 0;
+        while (i < first.length || j < second.length) {
+            if (j == second.length || (i < first.length && first[i] < second[j])) {
+                result[count++] = first[i++];
+            } else if (i == first.length || second[j] < first[i]) {
+                result[count++] = second[j++];
+            } else {
+                result[count++] = first[i];
+                i++;
+                j++;
+            }
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+}
@@ -0,0 +1,252 @@
+package duke.tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the literal text that any match of a find query must contain, so that an index of the text in task
+ * descriptions can rule out tasks which cannot match.
+ *
+ * Queries are regular expressions. A query is split into its top-level alternatives, and each alternative gives
+ * the runs of ordinary characters which are not made optional by a quantifier. Groups, character classes and
+ * escapes such as {@code \d} are skipped, since they do not stand for one fixed piece of text. Escapes which do,
+ * such as {@code \x41}, are skipped as well, which only means the index rules out fewer tasks.
+ */
+class QueryLiterals {
+    private QueryLiterals() {
+    }
+
+    /**
+     * Returns the literal text required by each alternative of the specified query. A description matching the
+     * query contains every literal of at least one alternative.
+     *
+     * @param query a find query which is a valid regular expression.
+     * @return List of the literals of each alternative, or null if the query uses features which change how its
+     *     characters are read, such as inline flags or quoting.
+     */
+    static List<List<String>> requiredLiterals(String query) {
+        if (query.contains("(?") || query.contains("\\Q")) {
+            return null;
+        }
+
+        List<List<String>> alternatives = new ArrayList<>();
+        int start = 0;
+        int i = 0;
+        while (i <= query.length()) {
+            if (i == query.length() || query.charAt(i) == '|') {
+                alternatives.add(literalsOf(query.substring(start, i)));
+                start = i + 1;
+                i++;
+            } else {
+                i = skipElement(query, i);
+            }
+        }
+
+        return alternatives;
+    }
+
+    private static List<String> literalsOf(String alternative) {
+        List<String> literals = new ArrayList<>();
+        StringBuilder run = new StringBuilder();
+
+        int i = 0;
+        while (i < alternative.length()) {
+            char c = alternative.charAt(i);
+
+            switch (c) {
+            case '\\':
+                if (i + 1 < alternative.length() && !Character.isLetterOrDigit(alternative.charAt(i + 1))) {
+                    run.append(alternative.charAt(i + 1));
+                } else {
+                    endRun(run, literals);
+                }
+                i = skipEscape(alternative, i);
+                break;
+
+            case '?':
+            case '*':
+            case '{':
+                // The character before the quantifier may not appear at all.
+                removeLastCharacter(run);
+                endRun(run, literals);
+                i = c == '{' ? skipElement(alternative, i) : i + 1;
+                i = skipQuantifierMode(alternative, i);
+                break;
+
+            case '+':
+                endRun(run, literals);
+                i = skipQuantifierMode(alternative, i + 1);
+                break;
+
+            case '.':
+            case '^':
+            case '$':
+            case '(':
+            case ')':
+            case '[':
+                endRun(run, literals);
+                i = skipElement(alternative, i);
+                break;
+
+            default:
+                run.append(c);
+                i++;
+                break;
+            }
+        }
+
+        endRun(run, literals);
+        return literals;
+    }
+
+    /**
+     * Returns the position after the element starting at the specified position: a whole group, character class,
+     * escape or repetition count, or otherwise a single character.
+     */
+    private static int skipElement(String regex, int start) {
+        char c = regex.charAt(start);
+
+        if (c == '\\') {
+            return skipEscape(regex, start);
+        } else if (c == '[') {
+            return skipCharacterClass(regex, start);
+        } else if (c == '(') {
+            return skipGroup(regex, start);
+        } else if (c == '{') {
+            int end = regex.indexOf('}', start);
+            return end < 0 ? regex.length() : end + 1;
+        } else {
+            return start + 1;
+        }
+    }
+
+    /**
+     * Returns the position after the escape starting at the specified position. Escapes made of a letter or digit
+     * may take further characters, such as the digits of {@code \x41} or the name in {@code \p{L}}; a
+     * backreference takes every digit after it, which can only leave out literal text.
+     */
+    private static int skipEscape(String regex, int start) {
+        int i = start + 1;
+        if (i >= regex.length()) {
+            return regex.length();
+        }
+
+        char c = regex.charAt(i);
+        switch (c) {
+        case 'x':
+            return i + 1 < regex.length() && regex.charAt(i + 1) == '{'
+                    ? skipPast(regex, i + 1, '}')
+                    : Math.min(i + 3, regex.length());
+
+        case 'u':
+            return Math.min(i + 5, regex.length());
+
+        case 'c':
+            return Math.min(i + 2, regex.length());
+
+        case '0':
+            return skipOctalDigits(regex, i + 1);
+
+        case 'p':
+        case 'P':
+            return i + 1 < regex.length() && regex.charAt(i + 1) == '{'
+                    ? skipPast(regex, i + 1, '}')
+                    : Math.min(i + 2, regex.length());
+
+        case 'N':
+            return skipPast(regex, i, '}');
+
+        case 'k':
+            return skipPast(regex, i, '>');
+
+        default:
+            if (c >= '1' && c <= '9') {
+                i++;
+                while (i < regex.length() && Character.isDigit(regex.charAt(i))) {
+                    i++;
+                }
+                return i;
+            }
+            return i + 1;
+        }
+    }
+
+    /**
+     * Returns the position after the up to three octal digits of the escape {@code \0n}, {@code \0nn} or
+     * {@code \0mnn}, where m is at most 3.
+     */
+    private static int skipOctalDigits(String regex, int start) {
+        int i = start;
+        while (i < start + 3 && i < regex.length() && regex.charAt(i) >= '0' && regex.charAt(i) <= '7') {
+            i++;
+        }
+        if (i == start + 3 && regex.charAt(start) > '3') {
+            i--;
+        }
+        return i;
+    }
+
+    private static int skipPast(String regex, int start, char end) {
+        int i = regex.indexOf(end, start);
+        return i < 0 ? regex.length() : i + 1;
+    }
+
+    private static int skipCharacterClass(String regex, int start) {
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == ']') {
+                return i + 1;
+            }
+            i = c == '\\' || c == '[' ? skipElement(regex, i) : i + 1;
+        }
+        return regex.length();
+    }
+
+    private static int skipGroup(String regex, int start) {
+        int i = start + 1;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == ')') {
+                return i + 1;
+            }
+            i = skipElement(regex, i);
+        }
+        return regex.length();
+    }
+
+    /**
+     * Skips the {@code ?} or {@code +} which makes the preceding quantifier lazy or possessive.
+     */
+    private static int skipQuantifierMode(String regex, int i) {
+        if (i < regex.length() && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+            return i + 1;
+        }
+        return i;
+    }
+
+    private static void removeLastCharacter(StringBuilder run) {
+        if (run.length() == 0) {
+            return;
+        }
+
+        run.setLength(run.length() - 1);
+        if (run.length() > 0 && Character.isHighSurrogate(run.charAt(run.length() - 1))) {
+            run.setLength(run.length() - 1);
+        }
+    }
+
+    private static void endRun(StringBuilder run, List<String> literals) {
+        if (run.length() > 0) {
+            literals.add(run.toString());
+            run.setLength(0);
+        }
+    }
+}
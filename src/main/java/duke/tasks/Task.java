@@ -39,6 +39,13 @@ public abstract class Task {
         this.isDone = true;
     }
 
+    /**
+     * Returns a new Task equal to this Task, which can be changed without changing this Task.
+     *
+     * @return copy of this Task.
+     */
+    abstract Task copy();
+
     /**
      * Checks if this Task is marked as done.
      *
@@ -0,0 +1,31 @@
+package duke.tasks;
+
+/**
+ * Represents an attribute a Task can be filtered by. Attributes of the same kind, such as DONE and PENDING, match
+ * tasks with either attribute, while attributes of different kinds must all match.
+ */
+public enum TaskAttribute {
+    DONE(Kind.STATUS),
+    PENDING(Kind.STATUS),
+    TODO(Kind.TYPE),
+    DEADLINE(Kind.TYPE),
+    EVENT(Kind.TYPE);
+
+    private final Kind kind;
+
+    TaskAttribute(Kind kind) {
+        this.kind = kind;
+    }
+
+    Kind getKind() {
+        return this.kind;
+    }
+
+    /**
+     * Represents the kinds of attributes, of which a Task has exactly one attribute each.
+     */
+    enum Kind {
+        STATUS,
+        TYPE
+    }
+}
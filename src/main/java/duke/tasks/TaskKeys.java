@@ -0,0 +1,176 @@
+package duke.tasks;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Models the keys given to the tasks of a TaskList by an index, so that the index can refer to tasks without
+ * updating every reference when tasks before them are deleted.
+ *
+ * Keys are given out in increasing order, so the keys of the tasks in list order are sorted. The key of a deleted
+ * task is only marked as no longer in use, and a Fenwick tree counting the keys in use turns a key into a position,
+ * or a position into a key, in O(log n) time, so no array is shifted when a task is deleted. Once the keys no longer
+ * in use outnumber those in use, the next task added first gives every task a new key from 0, and the index is asked
+ * to update what it keeps by key, which takes O(1) amortized time per deleted task.
+ */
+class TaskKeys {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The Fenwick tree, in which entry i holds the number of keys in use among the {@code i & -i} keys below i.
+     */
+    private int[] tree = new int[INITIAL_CAPACITY + 1];
+    private final BitSet inUse = new BitSet();
+    private int keyLimit = 0;
+    private int size = 0;
+
+    /**
+     * Gives a key to a task added to the end of the TaskList. If the tasks are given new keys first, the specified
+     * postings are updated to match.
+     *
+     * @param postings every Posting holding these keys.
+     * @return key of the added task.
+     */
+    int add(Collection<Posting> postings) {
+        return add((oldKeys, oldKeyCount) -> {
+            for (Posting posting : postings) {
+                posting.renumber(oldKeys, oldKeyCount);
+            }
+        });
+    }
+
+    /**
+     * Gives a key to a task added to the end of the TaskList. If the tasks are given new keys first, the specified
+     * renumbering is run to update everything kept by key.
+     *
+     * @param renumbering updates everything kept by key to new keys.
+     * @return key of the added task.
+     */
+    int add(Renumbering renumbering) {
+        if (keyLimit == capacity()) {
+            if (keyLimit - size > size) {
+                renumber(renumbering);
+            } else {
+                rebuildTree(capacity() * 2);
+            }
+        }
+
+        int key = keyLimit++;
+        inUse.set(key);
+        for (int i = key + 1; i < tree.length; i += i & -i) {
+            tree[i]++;
+        }
+        size++;
+        return key;
+    }
+
+    /**
+     * Removes the key of a task removed from the TaskList.
+     *
+     * @param pos position the task was removed from.
+     * @return key of the removed task.
+     */
+    int remove(int pos) {
+        int key = keyAt(pos);
+        inUse.clear(key);
+        for (int i = key + 1; i < tree.length; i += i & -i) {
+            tree[i]--;
+        }
+        size--;
+        return key;
+    }
+
+    /**
+     * Returns the key of the task at the specified position.
+     *
+     * @param pos position of a task in the TaskList.
+     * @return key of the task.
+     */
+    int keyAt(int pos) {
+        assert pos >= 0 && pos < size;
+
+        // Descends the tree to the last entry with at most pos keys in use up to it.
+        int key = 0;
+        int remaining = pos + 1;
+        for (int step = Integer.highestOneBit(capacity()); step > 0; step >>= 1) {
+            if (key + step < tree.length && tree[key + step] < remaining) {
+                key += step;
+                remaining -= tree[key];
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Returns the position of the task with the specified key.
+     *
+     * @param key key of a task in the TaskList.
+     * @return position of the task.
+     */
+    int positionOf(int key) {
+        assert inUse.get(key);
+
+        int pos = 0;
+        for (int i = key; i > 0; i -= i & -i) {
+            pos += tree[i];
+        }
+        return pos;
+    }
+
+    /**
+     * Returns a number larger than every key in use.
+     *
+     * @return the key the next task added is given, unless the tasks are given new keys first.
+     */
+    int keyLimit() {
+        return keyLimit;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int capacity() {
+        return tree.length - 1;
+    }
+
+    private void renumber(Renumbering renumbering) {
+        int[] oldKeys = inUse.stream().toArray();
+        renumbering.renumber(oldKeys, size);
+
+        inUse.clear();
+        inUse.set(0, size);
+        keyLimit = size;
+        rebuildTree(capacity());
+    }
+
+    /**
+     * Builds the tree afresh with the specified capacity, in O(capacity) time.
+     */
+    private void rebuildTree(int capacity) {
+        tree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            if (inUse.get(i - 1)) {
+                tree[i]++;
+            }
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Represents how an index gives what it keeps by key the new keys of its tasks.
+     */
+    @FunctionalInterface
+    interface Renumbering {
+        /**
+         * Replaces every key using the specified sorted array of old keys, giving each key its index in the array.
+         *
+         * @param oldKeys sorted array containing every key in use.
+         * @param oldKeyCount number of keys in use at the start of the array.
+         */
+        void renumber(int[] oldKeys, int oldKeyCount);
+    }
+}
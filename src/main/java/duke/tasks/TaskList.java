@@ -1,36 +1,153 @@
 package duke.tasks;
 
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+import duke.utils.TaskFilter;
 import duke.utils.TaskStringConverter;
 
 /**
  * Models a list of tasks, with operations to add, delete, set task as done and return a string
  * representation of all the tasks in the list.
+ *
+ * Every task is given an ID when it is added, which keeps referring to it as tasks before it are deleted. Tasks are
+ * found, added and deleted by position in O(log n) time, and found by ID in constant time.
+ *
+ * A TaskList can be used from several threads at once. Changes are made one at a time, under the write lock of a
+ * StampedLock, and each change publishes a new snapshot of the list, which shares all but O(log n) of its nodes with
+ * the previous one. Reading the list, or a task by position or ID, reads the latest version without locking, so
+ * readers never wait for a change, and never see one half made. Searches which use the indexes take the read lock,
+ * as the indexes are changed in place. Changes which are saved are made through a Storage instead, which records
+ * them in the order they are made.
+ *
+ * The snapshots before the latest changes are kept, so that changes can be undone and redone. As snapshots share
+ * their nodes, each one kept only takes the memory of the O(log n) nodes its change copied.
  */
 public class TaskList {
-    private List<Task> taskList;
+    private static final int HISTORY_CAPACITY = 100;
+
+    private final StampedLock lock = new StampedLock();
+    private final IndexedTaskList taskList;
+    private final Deque<IndexedTaskList.Snapshot> undoHistory = new ArrayDeque<>();
+    private final Deque<IndexedTaskList.Snapshot> redoHistory = new ArrayDeque<>();
+    private volatile IndexedTaskList.Snapshot snapshot;
+    private DescriptionIndex descriptionIndex;
+    private TermIndex termIndex;
+    private TimeIndex timeIndex;
+    private IntervalIndex intervalIndex;
+    private AttributeIndex attributeIndex;
 
     public TaskList() {
-        this.taskList = new ArrayList<>();
+        this.taskList = new IndexedTaskList();
+        this.snapshot = this.taskList.snapshot();
     }
 
+    /**
+     * Constructs a TaskList containing the specified Tasks, with IDs from 0 in list order. The TaskList takes over the
+     * specified list, so the caller must not use the list afterwards. Tasks of lists which read them from a file
+     * only when accessed are still only read when accessed.
+     *
+     * @param converted list of Tasks.
+     */
     public TaskList(List<Task> converted) {
-        this.taskList = new ArrayList<>(converted);
+        this.taskList = new IndexedTaskList(converted);
+        this.snapshot = this.taskList.snapshot();
     }
 
     /**
-     * Marks task at specified position to be done.
+     * Constructs a TaskList containing the specified Tasks, with IDs from 0 in list order, optionally keeping them in
+     * columns of primitives rather than as objects.
+     *
+     * Tasks kept in columns take much less memory, but a new Task object is created each time one is read, so
+     * changes to a Task read from the list are only kept through the methods of this TaskList. All Tasks of the
+     * specified list are read, and the list is not used afterwards.
+     *
+     * @param converted list of Tasks.
+     * @param isStoredInColumns whether to keep the Tasks in columns.
+     */
+    public TaskList(List<Task> converted, boolean isStoredInColumns) {
+        this.taskList = isStoredInColumns
+                ? new IndexedTaskList(new ColumnarTaskStore(converted), converted.size())
+                : new IndexedTaskList(converted);
+        this.snapshot = this.taskList.snapshot();
+    }
+
+    /**
+     * Marks task at specified position to be done, unless it is done already. A copy of the task is marked and set
+     * into the list in its place, as snapshots taken earlier still hold the task.
      *
      * @param pos position of task to be marked.
+     * @return boolean indicating if the task was marked, which it is not if it was already done.
      */
-    public void setTaskDone(int pos) {
-        taskList.get(pos).markAsDone();
+    public boolean setTaskDone(int pos) {
+        long stamp = this.lock.writeLock();
+        try {
+            Task task = this.taskList.get(pos);
+            if (task.isDone()) {
+                return false;
+            }
+
+            Task done = task.copy();
+            done.markAsDone();
+            keepForUndo();
+            this.taskList.set(pos, done);
+
+            if (this.attributeIndex != null) {
+                this.attributeIndex.setDone(pos);
+            }
+            this.snapshot = this.taskList.snapshot();
+            return true;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
     }
 
+    /**
+     * Returns the tasks in the list, as a snapshot taken without locking which later changes to the list do not
+     * affect. The tasks in it must not be changed.
+     *
+     * @return unmodifiable List of the tasks.
+     */
     public List<Task> getList() {
-        return this.taskList;
+        return this.snapshot;
+    }
+
+    /**
+     * Returns the ID of the task at the specified position.
+     *
+     * @param pos position of the task.
+     * @return ID of the task.
+     */
+    public int getTaskId(int pos) {
+        return this.snapshot.idAt(pos);
+    }
+
+    /**
+     * Returns the task with the specified ID, in constant time.
+     *
+     * @param id ID of the task.
+     * @return the task, or null if it has been deleted.
+     */
+    public Task getTaskById(int id) {
+        return this.taskList.getById(id);
+    }
+
+    /**
+     * Returns the current position of the task with the specified ID.
+     *
+     * @param id ID of the task.
+     * @return position of the task, or -1 if it has been deleted.
+     */
+    public int getPositionOfId(int id) {
+        return this.snapshot.positionOf(id);
     }
 
     /**
@@ -39,7 +156,30 @@ public class TaskList {
      * @param task task to be added to the list.
      */
     public void addTask(Task task) {
-        this.taskList.add(task);
+        long stamp = this.lock.writeLock();
+        try {
+            keepForUndo();
+            this.taskList.add(task);
+
+            if (this.descriptionIndex != null) {
+                this.descriptionIndex.add(task);
+            }
+            if (this.termIndex != null) {
+                this.termIndex.add(task);
+            }
+            if (this.timeIndex != null) {
+                this.timeIndex.add(task);
+            }
+            if (this.intervalIndex != null) {
+                this.intervalIndex.add(task);
+            }
+            if (this.attributeIndex != null) {
+                this.attributeIndex.add(task);
+            }
+            this.snapshot = this.taskList.snapshot();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -48,9 +188,377 @@ public class TaskList {
      * @param pos position of the task to be removed.
      */
     public void deleteTask(int pos) {
-        assert pos >= 0 && pos < this.taskList.size();
+        long stamp = this.lock.writeLock();
+        try {
+            assert pos >= 0 && pos < this.taskList.size();
+
+            keepForUndo();
+            Task removed = this.taskList.remove(pos);
+
+            if (this.descriptionIndex != null) {
+                this.descriptionIndex.remove(pos, removed);
+            }
+            if (this.termIndex != null) {
+                this.termIndex.remove(pos, removed);
+            }
+            if (this.timeIndex != null) {
+                this.timeIndex.remove(pos, removed);
+            }
+            if (this.intervalIndex != null) {
+                this.intervalIndex.remove(pos, removed);
+            }
+            if (this.attributeIndex != null) {
+                this.attributeIndex.remove(pos);
+            }
+            this.snapshot = this.taskList.snapshot();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
 
-        this.taskList.remove(pos);
+    /**
+     * Changes the list back to how it was before the last change which has not been undone. Up to 100 changes can
+     * be undone. Tasks brought back keep their IDs.
+     *
+     * @return boolean indicating if a change was undone, which it is not if there is none to undo.
+     */
+    public boolean undo() {
+        long stamp = this.lock.writeLock();
+        try {
+            if (this.undoHistory.isEmpty()) {
+                return false;
+            }
+
+            this.redoHistory.push(this.snapshot);
+            restore(this.undoHistory.pop());
+            return true;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Makes the last undone change again, if no other change was made since it was undone.
+     *
+     * @return boolean indicating if a change was redone, which it is not if there is none to redo.
+     */
+    public boolean redo() {
+        long stamp = this.lock.writeLock();
+        try {
+            if (this.redoHistory.isEmpty()) {
+                return false;
+            }
+
+            this.undoHistory.push(this.snapshot);
+            restore(this.redoHistory.pop());
+            return true;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Forgets the changes made so far, so that they cannot be undone, such as those replayed when loading the list.
+     */
+    public void clearHistory() {
+        long stamp = this.lock.writeLock();
+        try {
+            this.undoHistory.clear();
+            this.redoHistory.clear();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Keeps the current snapshot, before a change is made, so that the change can be undone. A new change cannot be
+     * redone after, so the changes which were undone are forgotten.
+     */
+    private void keepForUndo() {
+        this.undoHistory.push(this.snapshot);
+        if (this.undoHistory.size() > HISTORY_CAPACITY) {
+            this.undoHistory.removeLast();
+        }
+        this.redoHistory.clear();
+    }
+
+    /**
+     * Changes the list to the specified snapshot. The indexes are changed in place, and cannot be changed back, so
+     * they are dropped, and each is built again when it is next used.
+     */
+    private void restore(IndexedTaskList.Snapshot version) {
+        this.taskList.restore(version);
+        this.descriptionIndex = null;
+        this.termIndex = null;
+        this.timeIndex = null;
+        this.intervalIndex = null;
+        this.attributeIndex = null;
+        this.snapshot = version;
+    }
+
+    /**
+     * Returns the Tasks whose descriptions match, in list order.
+     *
+     * Only the tasks with descriptions containing the literal text required by the query are checked. A query which
+     * is a single word is looked up in the index of the words in all descriptions, so only the tasks containing it
+     * are read. Other queries use an index of the trigrams in all descriptions, and every task is checked when such
+     * a query requires no literal text long enough to look up. The indexes are built on first use. Long lists of
+     * tasks to check are checked in parallel, in the snapshot the index was read with, so the list may be changed
+     * meanwhile.
+     *
+     * @param query the regular expression being searched for, used to narrow down the tasks to check.
+     * @param isMatch predicate deciding if a description matches, which must only accept descriptions where the
+     *     query, ignoring case, finds a match, and which may be called from several threads at once.
+     * @return List of matching Tasks.
+     */
+    public List<Task> searchDescriptions(String query, Predicate<String> isMatch) {
+        int[] candidates;
+        List<Task> tasks;
+        long stamp = this.lock.readLock();
+        try {
+            candidates = TermIndex.isWord(query)
+                    ? getTermIndex().findContaining(query)
+                    : getDescriptionIndex().findCandidates(query);
+            tasks = this.taskList.snapshot();
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+
+        List<Task> toCheck;
+        if (candidates == null) {
+            // The tasks are copied in one walk, as finding each position from the root for every read would be
+            // slower, and tasks read from a file on access cannot be read from several threads.
+            toCheck = new ArrayList<>(tasks);
+        } else {
+            toCheck = new ArrayList<>(candidates.length);
+            for (int pos : candidates) {
+                toCheck.add(tasks.get(pos));
+            }
+        }
+
+        return TaskFilter.filter(toCheck, task -> isMatch.test(task.getDescription()));
+    }
+
+    /**
+     * Returns the Tasks which best match the words in the query, best first. Tasks are ranked by how often their
+     * descriptions contain the words and how rare the words are, using an index of the words in all descriptions that
+     * is built on the first ranked or similar word search.
+     *
+     * @param query the words to search for.
+     * @param limit the maximum number of Tasks to return.
+     * @return List of at most limit Tasks containing at least one of the words.
+     */
+    public List<Task> searchRanked(String query, int limit) {
+        return readLocked(() -> getTasksAt(getTermIndex().findTop(query, limit)));
+    }
+
+    /**
+     * Returns the Tasks whose descriptions contain a word similar to each word in the query, allowing for typing
+     * mistakes, in list order. Words of up to 4 characters may differ by one character inserted, deleted or
+     * replaced, and longer words by two.
+     *
+     * @param query the words to search for.
+     * @return List of matching Tasks.
+     */
+    public List<Task> searchSimilar(String query) {
+        return readLocked(() -> getTasksAt(getTermIndex().findSimilar(query)));
+    }
+
+    /**
+     * Returns the Deadlines and Events dated before the specified time, ordered by date.
+     *
+     * @param time the time which the tasks are before.
+     * @return List of Deadlines and Events.
+     */
+    public List<Task> getTasksDueBefore(LocalDateTime time) {
+        return readLocked(() -> getTasksAt(getTimeIndex().findBetween(null, false, time, false)));
+    }
+
+    /**
+     * Returns the Deadlines and Events dated from the specified start to the specified end, inclusive, ordered by
+     * date. No tasks are returned if the end is before the start.
+     *
+     * @param from the earliest time of the tasks.
+     * @param to the latest time of the tasks.
+     * @return List of Deadlines and Events.
+     */
+    public List<Task> getTasksDueBetween(LocalDateTime from, LocalDateTime to) {
+        return readLocked(() -> getTasksAt(getTimeIndex().findBetween(from, true, to, true)));
+    }
+
+    /**
+     * Returns the Deadlines which are not done and are due before the specified time, ordered by date.
+     *
+     * @param now the current time.
+     * @return List of overdue Deadlines.
+     */
+    public List<Task> getOverdueTasks(LocalDateTime now) {
+        List<Task> overdue = new ArrayList<>();
+        for (Task task : getTasksDueBefore(now)) {
+            if (task instanceof Deadline && !task.isDone()) {
+                overdue.add(task);
+            }
+        }
+        return overdue;
+    }
+
+    /**
+     * Returns the Events in the list which take place at the same time as the specified Event, ordered by start
+     * time. The specified Event itself is not included.
+     *
+     * @param event the Event to check, which may not be in the list.
+     * @return List of clashing Events.
+     */
+    public List<Task> getClashingEvents(Event event) {
+        List<Task> clashes = new ArrayList<>();
+        for (Task task : readLocked(() -> getTasksAt(getIntervalIndex().findOverlapping(event.getLocalDateTime(),
+                event.getEndExclusive())))) {
+            if (task != event) {
+                clashes.add(task);
+            }
+        }
+        return clashes;
+    }
+
+    /**
+     * Returns every pair of Events in the list which take place at the same time, with the Event starting first as
+     * the first of each pair. Pairs are ordered by the start times of their first and then their second Events.
+     *
+     * @return List of pairs of clashing Events.
+     */
+    public List<List<Task>> getAllClashes() {
+        return readLocked(() -> {
+            List<List<Task>> clashes = new ArrayList<>();
+            for (int[] pair : getIntervalIndex().findAllOverlapping()) {
+                clashes.add(List.of(this.taskList.get(pair[0]), this.taskList.get(pair[1])));
+            }
+            return clashes;
+        });
+    }
+
+    /**
+     * Returns the positions of the Tasks with the specified attributes, in list order. A Task matches if, for each
+     * kind of attribute specified, it has one of the specified attributes of that kind, so DONE and DEADLINE
+     * matches deadlines which are done, while DEADLINE and EVENT matches both deadlines and events.
+     *
+     * @param attributes the attributes to filter by, or an empty set to match every Task.
+     * @return positions of the matching Tasks.
+     */
+    public List<Integer> getPositionsWith(Set<TaskAttribute> attributes) {
+        return readLocked(() -> getAttributeIndex().findWith(attributes));
+    }
+
+    /**
+     * Returns the positions of the Tasks with the specified attributes, in the specified order.
+     *
+     * The orders are read from indexes which are kept sorted as Tasks are added, deleted and marked as done, rather
+     * than by sorting the Tasks, so listing them only takes as long as reading out their positions.
+     *
+     * @param attributes the attributes to filter by, or an empty set to match every Task.
+     * @param order the order of the Tasks.
+     * @return positions of the matching Tasks.
+     */
+    public List<Integer> getPositionsWith(Set<TaskAttribute> attributes, TaskOrder order) {
+        return readLocked(() -> findPositionsWith(attributes, order));
+    }
+
+    private List<Integer> findPositionsWith(Set<TaskAttribute> attributes, TaskOrder order) {
+        AttributeIndex index = getAttributeIndex();
+        List<Integer> positions;
+
+        switch (order) {
+        case LIST:
+            return index.findWith(attributes);
+
+        case DATE:
+            positions = getTimeIndex().findBetween(null, false, null, false);
+            positions.addAll(index.findWith(EnumSet.of(TaskAttribute.TODO)));
+            break;
+
+        case STATUS:
+            positions = index.findWith(EnumSet.of(TaskAttribute.PENDING));
+            positions.addAll(index.findWith(EnumSet.of(TaskAttribute.DONE)));
+            break;
+
+        case TYPE:
+            positions = index.findWith(EnumSet.of(TaskAttribute.TODO));
+            positions.addAll(index.findWith(EnumSet.of(TaskAttribute.DEADLINE)));
+            positions.addAll(index.findWith(EnumSet.of(TaskAttribute.EVENT)));
+            break;
+
+        default:
+            throw new AssertionError(order);
+        }
+
+        return index.retainWith(positions, attributes);
+    }
+
+    /**
+     * Runs the specified query while holding the read lock, so that no change is made to the list or its indexes
+     * until it is done.
+     */
+    private <T> T readLocked(Supplier<T> query) {
+        long stamp = this.lock.readLock();
+        try {
+            return query.get();
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the index of trigrams, building it on first use. This and the other index getters are synchronized,
+     * as readers holding the read lock may need an index built at the same time.
+     */
+    private synchronized DescriptionIndex getDescriptionIndex() {
+        if (this.descriptionIndex == null) {
+            this.descriptionIndex = new DescriptionIndex(this.taskList);
+        }
+        return this.descriptionIndex;
+    }
+
+    private synchronized TermIndex getTermIndex() {
+        if (this.termIndex == null) {
+            this.termIndex = new TermIndex(this.taskList);
+        }
+        return this.termIndex;
+    }
+
+    private synchronized AttributeIndex getAttributeIndex() {
+        if (this.attributeIndex == null) {
+            this.attributeIndex = new AttributeIndex(this.taskList);
+        }
+        return this.attributeIndex;
+    }
+
+    private synchronized IntervalIndex getIntervalIndex() {
+        if (this.intervalIndex == null) {
+            this.intervalIndex = new IntervalIndex(this.taskList);
+        }
+        return this.intervalIndex;
+    }
+
+    private synchronized TimeIndex getTimeIndex() {
+        if (this.timeIndex == null) {
+            this.timeIndex = new TimeIndex(this.taskList);
+        }
+        return this.timeIndex;
+    }
+
+    private List<Task> getTasksAt(List<Integer> positions) {
+        List<Task> tasks = new ArrayList<>(positions.size());
+        for (int pos : positions) {
+            tasks.add(this.taskList.get(pos));
+        }
+        return tasks;
+    }
+
+    private List<Task> getTasksAt(int[] positions) {
+        List<Task> tasks = new ArrayList<>(positions.length);
+        for (int pos : positions) {
+            tasks.add(this.taskList.get(pos));
+        }
+        return tasks;
     }
 
     /**
@@ -59,27 +567,51 @@ public class TaskList {
      * @return String message of concatenated List of Tasks, or message indicating an empty list.
      */
     public String getListInString () {
-        if (this.taskList.isEmpty()) {
-            return getEmptyListInString();
+        List<Task> tasks = this.snapshot;
+        if (tasks.isEmpty()) {
+            return getEmptyListInString(tasks);
+        }
+        return getNonEmptyListInString(tasks);
+    }
+
+    /**
+     * Returns message indicating the Tasks with the specified attributes, in the specified order, each numbered by
+     * its position in the list. The positions and the Tasks are read together, so they match even if the list is
+     * being changed.
+     *
+     * @param attributes the attributes to filter by, or an empty set to show every Task.
+     * @param order the order of the Tasks.
+     * @return String message of concatenated Tasks, or an empty String if no Task has the attributes.
+     */
+    public String getListInString(Set<TaskAttribute> attributes, TaskOrder order) {
+        List<Integer> positions;
+        List<Task> tasks;
+        long stamp = this.lock.readLock();
+        try {
+            positions = findPositionsWith(attributes, order);
+            tasks = getTasksAt(positions);
+        } finally {
+            this.lock.unlockRead(stamp);
         }
-        return getNonEmptyListInString();
+
+        return positions.isEmpty() ? "" : TaskStringConverter.stringTasksForProgram(tasks, positions);
     }
 
-    private String getEmptyListInString() {
-        assert this.taskList.isEmpty();
+    private String getEmptyListInString(List<Task> tasks) {
+        assert tasks.isEmpty();
 
         String completedAllTasksMsg = "You have no existing tasks!";
         return completedAllTasksMsg;
     }
 
-    private String getNonEmptyListInString() {
-        assert !this.taskList.isEmpty();
+    private String getNonEmptyListInString(List<Task> tasks) {
+        assert !tasks.isEmpty();
 
-        String allTasks = TaskStringConverter.stringTasksForProgram(this.taskList);
+        String allTasks = TaskStringConverter.stringTasksForProgram(tasks);
         return allTasks;
     }
 
     public boolean isEmpty() {
-        return this.taskList.size() == 0;
+        return this.snapshot.isEmpty();
     }
 }
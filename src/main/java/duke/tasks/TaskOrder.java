@@ -0,0 +1,12 @@
+package duke.tasks;
+
+/**
+ * Represents an order Tasks can be listed in: the order they were added in, by date with todos last, pending before
+ * done, or todos, then deadlines, then events. Tasks which are equal in an order stay in list order.
+ */
+public enum TaskOrder {
+    LIST,
+    DATE,
+    STATUS,
+    TYPE
+}
@@ -0,0 +1,16 @@
+package duke.tasks;
+
+/**
+ * Models where an IndexedTaskList keeps the Tasks it starts from, until they are replaced. Each Task is kept in a
+ * numbered slot, which is the ID of the Task. A TaskStore is not changed once filled, so it may be read from several
+ * threads at once.
+ */
+interface TaskStore {
+    /**
+     * Returns the Task in the specified slot.
+     *
+     * @param slot a slot holding a Task.
+     * @return the Task.
+     */
+    Task get(int slot);
+}
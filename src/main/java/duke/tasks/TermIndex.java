@@ -0,0 +1,362 @@
+package duke.tasks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Models an index from the words in task descriptions to the tasks containing them, with the number of times each
+ * word appears, kept in step with a TaskList.
+ *
+ * The index ranks tasks against a list of words with BM25: a task scores higher the more often it contains the
+ * words, the rarer the words are among all tasks, and the shorter its description is. Words are runs of letters
+ * and digits, with each character in lower case.
+ *
+ * The postings also answer find queries made of a single word, since any match of such a query lies within one word
+ * of the description. To find the words containing the query, each distinct word is indexed by every run of up to
+ * three characters in it.
+ *
+ * The distinct words are also kept in a BK-tree, to find the tasks containing words similar to misspelt ones.
+ * Words no longer in any task stay in the tree until it is rebuilt, once they outnumber the words still in use.
+ */
+class TermIndex {
+    private static final double TERM_FREQUENCY_SATURATION = 1.2;
+    private static final double LENGTH_NORMALIZATION = 0.75;
+    private static final int MIN_UNUSED_WORDS_FOR_REBUILD = 1024;
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<String, Posting> postings = new HashMap<>();
+    private final Map<String, Set<String>> wordsByGram = new HashMap<>();
+    private final TaskKeys keys = new TaskKeys();
+    private BkTree vocabulary = new BkTree();
+    private int[] lengths = new int[16];
+    private long totalLength = 0;
+
+    /**
+     * Constructs a TermIndex over the specified Tasks, in list order.
+     *
+     * @param tasks all Tasks in the TaskList.
+     */
+    TermIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Adds the specified Task, which was added to the end of the TaskList.
+     *
+     * @param task the added Task.
+     */
+    void add(Task task) {
+        int key = keys.add(this::renumber);
+        Map<String, Integer> wordCounts = countWords(task.getDescription());
+
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : wordCounts.entrySet()) {
+            Posting posting = postings.get(entry.getKey());
+            if (posting == null) {
+                posting = new Posting();
+                postings.put(entry.getKey(), posting);
+                vocabulary.add(entry.getKey());
+                for (String gram : gramsOf(entry.getKey())) {
+                    wordsByGram.computeIfAbsent(gram, g -> new HashSet<>()).add(entry.getKey());
+                }
+            }
+            posting.add(key, entry.getValue());
+            length += entry.getValue();
+        }
+
+        if (key >= lengths.length) {
+            lengths = Arrays.copyOf(lengths, Math.max(lengths.length * 2, key + 1));
+        }
+        lengths[key] = length;
+        totalLength += length;
+    }
+
+    /**
+     * Removes the specified Task, which was removed from the specified position of the TaskList.
+     *
+     * @param pos position the Task was removed from.
+     * @param task the removed Task.
+     */
+    void remove(int pos, Task task) {
+        int key = keys.remove(pos);
+        totalLength -= lengths[key];
+
+        for (String word : countWords(task.getDescription()).keySet()) {
+            Posting posting = postings.get(word);
+            posting.remove(key);
+            if (posting.isEmpty()) {
+                postings.remove(word);
+                for (String gram : gramsOf(word)) {
+                    Set<String> words = wordsByGram.get(gram);
+                    words.remove(word);
+                    if (words.isEmpty()) {
+                        wordsByGram.remove(gram);
+                    }
+                }
+            }
+        }
+
+        if (vocabulary.size() - postings.size() > Math.max(MIN_UNUSED_WORDS_FOR_REBUILD, postings.size())) {
+            vocabulary = new BkTree();
+            for (String word : postings.keySet()) {
+                vocabulary.add(word);
+            }
+        }
+    }
+
+    private void renumber(int[] oldKeys, int oldKeyCount) {
+        for (Posting posting : postings.values()) {
+            posting.renumber(oldKeys, oldKeyCount);
+        }
+        // Each old key is at or after its new key, so the lengths can be moved down in place.
+        for (int i = 0; i < oldKeyCount; i++) {
+            lengths[i] = lengths[oldKeys[i]];
+        }
+    }
+
+    /**
+     * Checks if the specified text is a single word, made only of letters and digits.
+     *
+     * @param text the text to check.
+     * @return boolean indicating if the text is a single word.
+     */
+    static boolean isWord(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isLetterOrDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the positions of the tasks with a word containing the specified word, ignoring case, which are exactly
+     * the tasks whose descriptions contain it.
+     *
+     * The words containing a word of up to three characters are looked up directly. For a longer word, only the
+     * words sharing its rarest run of three characters are checked. Then only the postings of the words containing
+     * it are read.
+     *
+     * @param word a single word.
+     * @return sorted positions of the matching tasks.
+     */
+    int[] findContaining(String word) {
+        assert isWord(word);
+        String lowerCaseWord = toLowerCase(word, 0, word.length());
+
+        int gramLength = Math.min(GRAM_LENGTH, lowerCaseWord.length());
+        Set<String> candidates = null;
+        for (int i = 0; i + gramLength <= lowerCaseWord.length(); i++) {
+            Set<String> words = wordsByGram.getOrDefault(lowerCaseWord.substring(i, i + gramLength), Set.of());
+            if (candidates == null || words.size() < candidates.size()) {
+                candidates = words;
+            }
+        }
+
+        int[] matches = new int[16];
+        int count = 0;
+        for (String candidate : candidates) {
+            if (!candidate.contains(lowerCaseWord)) {
+                continue;
+            }
+
+            Posting posting = postings.get(candidate);
+            if (count + posting.size() > matches.length) {
+                matches = Arrays.copyOf(matches, Math.max(matches.length * 2, count + posting.size()));
+            }
+            for (int i = 0; i < posting.size(); i++) {
+                matches[count++] = posting.keyAt(i);
+            }
+        }
+
+        // A task with several such words is in several postings.
+        Arrays.sort(matches, 0, count);
+        int[] positions = new int[count];
+        int distinctCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || matches[i] != matches[i - 1]) {
+                positions[distinctCount++] = keys.positionOf(matches[i]);
+            }
+        }
+        return Arrays.copyOf(positions, distinctCount);
+    }
+
+    /**
+     * Returns the positions of the tasks which contain, for every word in the specified query, a word within a small
+     * edit distance of it: 1 for words of up to 4 characters, and 2 for longer words.
+     *
+     * @param query the words to look up.
+     * @return sorted positions of the matching tasks.
+     */
+    int[] findSimilar(String query) {
+        int[] matches = null;
+
+        for (String word : countWords(query).keySet()) {
+            int maxDistance = word.length() <= 4 ? 1 : 2;
+
+            int[] wordMatches = new int[0];
+            for (String similar : vocabulary.findWithin(word, maxDistance)) {
+                Posting posting = postings.get(similar);
+                if (posting != null) {
+                    wordMatches = Posting.union(wordMatches, posting.toArray());
+                }
+            }
+
+            matches = matches == null ? wordMatches : Posting.intersect(matches, wordMatches);
+        }
+
+        if (matches == null) {
+            return new int[0];
+        }
+
+        int[] positions = new int[matches.length];
+        for (int i = 0; i < matches.length; i++) {
+            positions[i] = keys.positionOf(matches[i]);
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the positions of the highest ranked tasks containing any of the words in the specified query, best
+     * first. Tasks with equal scores are ordered by position.
+     *
+     * @param query the words to rank tasks by.
+     * @param limit the maximum number of positions to return.
+     * @return positions of the best tasks.
+     */
+    int[] findTop(String query, int limit) {
+        int taskCount = keys.size();
+        if (taskCount == 0 || limit <= 0) {
+            return new int[0];
+        }
+
+        List<Posting> queryPostings = new ArrayList<>();
+        List<Double> inverseDocumentFrequencies = new ArrayList<>();
+        for (String word : countWords(query).keySet()) {
+            Posting posting = postings.get(word);
+            if (posting != null) {
+                queryPostings.add(posting);
+                inverseDocumentFrequencies.add(
+                        Math.log(1 + (taskCount - posting.size() + 0.5) / (posting.size() + 0.5)));
+            }
+        }
+
+        double averageLength = Math.max(1.0, (double) totalLength / taskCount);
+        PriorityQueue<ScoredKey> best = new PriorityQueue<>();
+
+        // The postings are sorted by key, so they are merged to score each task once, in list order.
+        int[] next = new int[queryPostings.size()];
+        while (true) {
+            int key = Integer.MAX_VALUE;
+            for (int i = 0; i < next.length; i++) {
+                if (next[i] < queryPostings.get(i).size()) {
+                    key = Math.min(key, queryPostings.get(i).keyAt(next[i]));
+                }
+            }
+            if (key == Integer.MAX_VALUE) {
+                break;
+            }
+
+            double relativeLength = lengths[key] / averageLength;
+            double score = 0;
+            for (int i = 0; i < next.length; i++) {
+                Posting posting = queryPostings.get(i);
+                if (next[i] < posting.size() && posting.keyAt(next[i]) == key) {
+                    int count = posting.countAt(next[i]);
+                    score += inverseDocumentFrequencies.get(i) * count * (TERM_FREQUENCY_SATURATION + 1)
+                            / (count + TERM_FREQUENCY_SATURATION * (1 - LENGTH_NORMALIZATION
+                            + LENGTH_NORMALIZATION * relativeLength));
+                    next[i]++;
+                }
+            }
+
+            // Tasks come in list order, so a task only displaces a kept task with a strictly lower score.
+            if (best.size() < limit) {
+                best.add(new ScoredKey(key, score));
+            } else if (score > best.peek().score) {
+                best.poll();
+                best.add(new ScoredKey(key, score));
+            }
+        }
+
+        int[] positions = new int[best.size()];
+        for (int i = positions.length - 1; i >= 0; i--) {
+            positions[i] = keys.positionOf(best.poll().key);
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the number of times each word appears in the specified text.
+     */
+    private static Map<String, Integer> countWords(String text) {
+        Map<String, Integer> wordCounts = new HashMap<>();
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordCharacter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordCharacter && start < 0) {
+                start = i;
+            } else if (!isWordCharacter && start >= 0) {
+                wordCounts.merge(toLowerCase(text, start, i), 1, Integer::sum);
+                start = -1;
+            }
+        }
+
+        return wordCounts;
+    }
+
+    /**
+     * Returns every distinct run of one to three characters in the specified word.
+     */
+    private static Set<String> gramsOf(String word) {
+        Set<String> grams = new HashSet<>();
+        for (int start = 0; start < word.length(); start++) {
+            for (int end = start + 1; end <= Math.min(start + GRAM_LENGTH, word.length()); end++) {
+                grams.add(word.substring(start, end));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Returns the specified part of the text with each character in lower case.
+     */
+    private static String toLowerCase(String text, int start, int end) {
+        char[] word = new char[end - start];
+        for (int i = start; i < end; i++) {
+            word[i - start] = Character.toLowerCase(text.charAt(i));
+        }
+        return new String(word);
+    }
+
+    /**
+     * Represents the score of a task, ordered from worst to best. Of two equal scores, the later task is worse.
+     */
+    private static class ScoredKey implements Comparable<ScoredKey> {
+        private final int key;
+        private final double score;
+
+        private ScoredKey(int key, double score) {
+            this.key = key;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(ScoredKey other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(other.key, key);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package duke.tasks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Models an index of deadlines and events by their date and time, kept in step with a TaskList, so that the tasks
+ * in a range of time are found without checking every task.
+ */
+class TimeIndex {
+    private final NavigableMap<LocalDateTime, Posting> postings = new TreeMap<>();
+    private final TaskKeys keys = new TaskKeys();
+
+    /**
+     * Constructs a TimeIndex over the specified Tasks, in list order.
+     *
+     * @param tasks all Tasks in the TaskList.
+     */
+    TimeIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Adds the specified Task, which was added to the end of the TaskList.
+     *
+     * @param task the added Task.
+     */
+    void add(Task task) {
+        int key = keys.add(postings.values());
+
+        LocalDateTime dateTime = dateTimeOf(task);
+        if (dateTime != null) {
+            postings.computeIfAbsent(dateTime, d -> new Posting()).add(key);
+        }
+    }
+
+    /**
+     * Removes the specified Task, which was removed from the specified position of the TaskList.
+     *
+     * @param pos position the Task was removed from.
+     * @param task the removed Task.
+     */
+    void remove(int pos, Task task) {
+        int key = keys.remove(pos);
+
+        LocalDateTime dateTime = dateTimeOf(task);
+        if (dateTime != null) {
+            Posting posting = postings.get(dateTime);
+            posting.remove(key);
+            if (posting.isEmpty()) {
+                postings.remove(dateTime);
+            }
+        }
+    }
+
+    /**
+     * Returns the positions of the deadlines and events in the specified range of time, ordered by date and time,
+     * and then by position. A range which ends before it starts is empty.
+     *
+     * @param from start of the range, or null for no start.
+     * @param isFromInclusive whether tasks at the start of the range are included.
+     * @param to end of the range, or null for no end.
+     * @param isToInclusive whether tasks at the end of the range are included.
+     * @return positions of the tasks in the range.
+     */
+    List<Integer> findBetween(LocalDateTime from, boolean isFromInclusive, LocalDateTime to, boolean isToInclusive) {
+        NavigableMap<LocalDateTime, Posting> range;
+        if (from != null && to != null) {
+            if (from.isAfter(to)) {
+                return new ArrayList<>();
+            }
+            range = postings.subMap(from, isFromInclusive, to, isToInclusive);
+        } else if (from != null) {
+            range = postings.tailMap(from, isFromInclusive);
+        } else if (to != null) {
+            range = postings.headMap(to, isToInclusive);
+        } else {
+            range = postings;
+        }
+
+        List<Integer> positions = new ArrayList<>();
+        for (Posting posting : range.values()) {
+            for (int i = 0; i < posting.size(); i++) {
+                positions.add(keys.positionOf(posting.keyAt(i)));
+            }
+        }
+        return positions;
+    }
+
+    private static LocalDateTime dateTimeOf(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getLocalDateTime();
+        } else if (task instanceof Event) {
+            return ((Event) task).getLocalDateTime();
+        } else {
+            return null;
+        }
+    }
+}
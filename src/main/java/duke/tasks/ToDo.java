@@ -8,6 +8,13 @@ public class ToDo extends Task {
         super(description);
     }
 
+    @Override
+    Task copy() {
+        ToDo copy = new ToDo(this.description);
+        copy.isDone = this.isDone;
+        return copy;
+    }
+
     /**
      * Returns String description of this ToDo task, identified by "[T]".
      *
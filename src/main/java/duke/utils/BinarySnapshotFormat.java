@@ -0,0 +1,174 @@
+package duke.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.dukeexceptions.InvalidFileTaskTypeException;
+import duke.tasks.Deadline;
+import duke.tasks.Event;
+import duke.tasks.Task;
+import duke.tasks.ToDo;
+
+/**
+ * Models a compact binary storage format.
+ *
+ * The file starts with a header of the magic number {@code DUKE}, a 2 byte format version and a 4 byte task count.
+ * Each task is then stored as a type byte ({@code T}, {@code D} or {@code E}), a done byte, for deadlines and
+ * events an 8 byte count of minutes since 1970-01-01T00:00, for events another such count for the end time, and
+ * finally the description as a 4 byte length followed by that many bytes of UTF-8. An event without an end time
+ * stores {@link Long#MIN_VALUE} as its end. All numbers are big-endian.
+ *
+ * Version 1 files, which have no end times, can still be read.
+ */
+public class BinarySnapshotFormat implements SnapshotFormat {
+    private static final int MAGIC = 0x44554B45;
+    private static final short VERSION = 2;
+    private static final short VERSION_WITHOUT_END = 1;
+    private static final long NO_END = Long.MIN_VALUE;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int HEADER_BYTES = 10;
+
+    @Override
+    public List<Task> read(File file) throws IOException, InvalidFileTaskTypeException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // Read into the heap rather than mapped, as a mapped file cannot be replaced on some platforms.
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the whole file is in the buffer.
+            }
+            buffer.flip();
+            return readTasks(buffer, file);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Binary task file ends unexpectedly: " + file, e);
+        }
+    }
+
+    private static List<Task> readTasks(ByteBuffer buffer, File file) throws IOException,
+            InvalidFileTaskTypeException {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a binary task file: " + file);
+        }
+
+        short version = buffer.getShort();
+        if (version != VERSION && version != VERSION_WITHOUT_END) {
+            throw new IOException("Unsupported binary task file version " + version + ": " + file);
+        }
+
+        int taskCount = buffer.getInt();
+        if (taskCount < 0) {
+            throw new InvalidFileTaskTypeException();
+        }
+
+        List<Task> tasks = new ArrayList<>(taskCount);
+        byte[] scratch = new byte[256];
+        for (int i = 0; i < taskCount; i++) {
+            byte type = buffer.get();
+            boolean isDone = buffer.get() != 0;
+            long epochMinute = type == 'T' ? 0 : buffer.getLong();
+            long endEpochMinute = type == 'E' && version == VERSION ? buffer.getLong() : NO_END;
+
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new InvalidFileTaskTypeException();
+            }
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(scratch, 0, length);
+            String description = DescriptionPool.getShared().intern(new String(scratch, 0, length,
+                    StandardCharsets.UTF_8));
+
+            Task task = createTask(type, description, epochMinute, endEpochMinute);
+            if (isDone) {
+                task.markAsDone();
+            }
+            tasks.add(task);
+        }
+
+        return tasks;
+    }
+
+    @Override
+    public void write(File file, List<Task> tasks) throws IOException {
+        try (FileOutputStream fileOutput = new FileOutputStream(file)) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(fileOutput, BUFFER_SIZE));
+
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.writeInt(tasks.size());
+
+            for (Task task : tasks) {
+                writeTask(output, task);
+            }
+
+            output.flush();
+            fileOutput.getFD().sync();
+        }
+    }
+
+    private static void writeTask(DataOutputStream output, Task task) throws IOException {
+        assert task instanceof ToDo || task instanceof Event || task instanceof Deadline;
+
+        if (task instanceof ToDo) {
+            output.writeByte('T');
+            output.writeBoolean(task.isDone());
+        } else if (task instanceof Deadline) {
+            output.writeByte('D');
+            output.writeBoolean(task.isDone());
+            output.writeLong(toEpochMinute(((Deadline) task).getLocalDateTime()));
+        } else {
+            output.writeByte('E');
+            output.writeBoolean(task.isDone());
+            Event event = (Event) task;
+            output.writeLong(toEpochMinute(event.getLocalDateTime()));
+            output.writeLong(event.getEndLocalDateTime() == null ? NO_END : toEpochMinute(event.getEndLocalDateTime()));
+        }
+
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        output.writeInt(description.length);
+        output.write(description);
+    }
+
+    private static Task createTask(byte type, String description, long epochMinute, long endEpochMinute)
+            throws InvalidFileTaskTypeException {
+        switch (type) {
+        case 'T':
+            return new ToDo(description);
+
+        case 'D':
+            return new Deadline(description, fromEpochMinute(epochMinute));
+
+        case 'E':
+            if (endEpochMinute == NO_END) {
+                return new Event(description, fromEpochMinute(epochMinute));
+            }
+            if (endEpochMinute <= epochMinute) {
+                throw new InvalidFileTaskTypeException();
+            }
+            return new Event(description, fromEpochMinute(epochMinute), fromEpochMinute(endEpochMinute));
+
+        default:
+            throw new InvalidFileTaskTypeException();
+        }
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,114 @@
+package duke.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Models a pool of task descriptions, so that tasks with the same description, such as a recurring "standup", share
+ * one String instead of each holding a copy.
+ *
+ * The pool can be used from several threads at once. A description is pooled the second time it is seen, which is
+ * tracked in a fixed size table of recently seen descriptions, so files of mostly one-off descriptions are decoded
+ * almost as fast as without the pool. The pool holds at most a fixed number of descriptions; once full, it is emptied
+ * and starts again, so descriptions which keep recurring are soon pooled again.
+ */
+public class DescriptionPool {
+    private static final int DEFAULT_CAPACITY = 64 * 1024;
+    private static final DescriptionPool SHARED = new DescriptionPool(DEFAULT_CAPACITY);
+
+    private final ConcurrentMap<String, String> descriptions = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> recent;
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder bytesSaved = new LongAdder();
+    private final int capacity;
+
+    /**
+     * Constructs an empty DescriptionPool holding at most the specified number of descriptions.
+     *
+     * @param capacity maximum number of descriptions to hold.
+     */
+    public DescriptionPool(int capacity) {
+        assert capacity > 0;
+        this.capacity = capacity;
+        this.recent = new AtomicReferenceArray<>(Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+    }
+
+    /**
+     * Returns the pool shared by the loaders and the commands which add tasks.
+     *
+     * @return the shared DescriptionPool.
+     */
+    public static DescriptionPool getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the pooled String equal to the specified description, or the description itself if none is pooled
+     * yet.
+     *
+     * @param description the description of a task.
+     * @return a String equal to the description, which should be used in its place.
+     */
+    public String intern(String description) {
+        String pooled = this.descriptions.get(description);
+        if (pooled != null) {
+            return pooledInstead(description, pooled);
+        }
+
+        // A description is only pooled once it is seen again, so that one-off descriptions cost no more than a
+        // lookup, and do not push recurring descriptions out of the pool.
+        int slot = description.hashCode() & (this.recent.length() - 1);
+        String seen = this.recent.get(slot);
+        if (seen == null || !seen.equals(description)) {
+            this.recent.set(slot, description);
+            return description;
+        }
+
+        if (this.size.get() >= this.capacity) {
+            this.descriptions.clear();
+            this.size.set(0);
+        }
+        pooled = this.descriptions.putIfAbsent(seen, seen);
+        if (pooled == null) {
+            this.size.incrementAndGet();
+            pooled = seen;
+        }
+        return pooledInstead(description, pooled);
+    }
+
+    private String pooledInstead(String description, String pooled) {
+        if (pooled != description) {
+            this.bytesSaved.add(heapSizeOf(description));
+        }
+        return pooled;
+    }
+
+    /**
+     * Returns the number of bytes of heap saved so far, by returning pooled descriptions in place of equal copies.
+     *
+     * @return estimated number of bytes saved.
+     */
+    public long getBytesSaved() {
+        return this.bytesSaved.sum();
+    }
+
+    /**
+     * Returns an estimate of the heap taken by the specified String: its object, and its array of one byte per
+     * character when every character fits in one byte, or else two.
+     */
+    private static long heapSizeOf(String description) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < description.length(); i++) {
+            if (description.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+
+        long arrayBytes = 16 + (long) description.length() * bytesPerChar;
+        return 24 + (arrayBytes + 7) / 8 * 8;
+    }
+}
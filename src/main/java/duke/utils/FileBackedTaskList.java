@@ -0,0 +1,238 @@
+package duke.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import duke.dukeexceptions.InvalidFileTaskTypeException;
+import duke.tasks.Task;
+
+/**
+ * Models a list of Tasks which are read from a text storage file only when they are accessed.
+ *
+ * Opening the list only records where each line of the file starts. Reading a Task decodes a page of the lines
+ * around it, and decoded Tasks are kept in a bounded cache which discards the least recently used ones. The list
+ * cannot be changed; a TaskList built on it holds added and changed Tasks itself.
+ */
+public class FileBackedTaskList extends AbstractList<Task> implements Closeable {
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    private static final int PAGE_BYTES = 16 * 1024;
+    private static final int DEFAULT_CACHE_CAPACITY = 8192;
+
+    private final FileChannel channel;
+    private final Map<Long, Task> cache;
+
+    /**
+     * The offset of each task's line in the file.
+     */
+    private long[] entries;
+    private int size;
+
+    /**
+     * Constructs a FileBackedTaskList over the specified text storage file, with the default cache capacity.
+     *
+     * @param file the text storage file, which must exist.
+     * @throws IOException if the file cannot be read.
+     */
+    public FileBackedTaskList(File file) throws IOException {
+        this(file, DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * Constructs a FileBackedTaskList over the specified text storage file. The file is kept open until the list is
+     * closed, and must not be modified in place while the list is in use.
+     *
+     * @param file the text storage file, which must exist.
+     * @param cacheCapacity the maximum number of decoded Tasks to keep in the cache.
+     * @throws IOException if the file cannot be read.
+     */
+    public FileBackedTaskList(File file, int cacheCapacity) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Task> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
+        buildIndex();
+    }
+
+    private void buildIndex() throws IOException {
+        entries = new long[Math.max(16, (int) Math.min(Integer.MAX_VALUE - 8, channel.size() / 32))];
+        size = 0;
+
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        long bufferStart = 0;
+        long lineStart = 0;
+        boolean isLineEmpty = true;
+
+        while (channel.read(buffer, bufferStart) > 0) {
+            buffer.flip();
+            for (int i = 0; i < buffer.limit(); i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') {
+                    if (!isLineEmpty) {
+                        appendEntry(lineStart);
+                    }
+                    lineStart = bufferStart + i + 1;
+                    isLineEmpty = true;
+                } else if (b != '\r') {
+                    isLineEmpty = false;
+                }
+            }
+            bufferStart += buffer.limit();
+            buffer.clear();
+        }
+
+        if (!isLineEmpty) {
+            appendEntry(lineStart);
+        }
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+
+        Task task = cache.get(entries[index]);
+        if (task == null) {
+            task = readPage(index);
+        }
+        return task;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of decoded Tasks currently held in the cache.
+     *
+     * @return number of cached Tasks.
+     */
+    public int getCachedCount() {
+        return cache.size();
+    }
+
+    /**
+     * Closes the storage file. Tasks which are not in the cache can no longer be read afterwards.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void appendEntry(long offset) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[size++] = offset;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Decodes the line at the specified position, and the lines of following positions that are in the same page
+     * of the file.
+     *
+     * @return the Task at the specified position.
+     */
+    private Task readPage(int index) {
+        long pageStart = entries[index];
+
+        try {
+            ByteBuffer page = ByteBuffer.allocate(PAGE_BYTES);
+            boolean isEndOfFile = readFully(page, pageStart);
+
+            int lineEnd = lineEnd(page, 0, isEndOfFile);
+            if (lineEnd < 0) {
+                Task task = readLongLine(pageStart, page.capacity() * 2);
+                cache.put(pageStart, task);
+                return task;
+            }
+
+            Task task = decodeLine(page, 0, lineEnd);
+            cache.put(pageStart, task);
+
+            for (int i = index + 1; i < size && entries[i] > pageStart; i++) {
+                long offset = entries[i];
+                if (offset - pageStart >= page.position()) {
+                    break;
+                }
+
+                int start = (int) (offset - pageStart);
+                int end = lineEnd(page, start, isEndOfFile);
+                if (end < 0) {
+                    break;
+                }
+                if (!cache.containsKey(offset)) {
+                    cache.put(offset, decodeLine(page, start, end));
+                }
+            }
+            return task;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InvalidFileTaskTypeException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private Task readLongLine(long start, int capacity) throws IOException, InvalidFileTaskTypeException {
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        boolean isEndOfFile = readFully(buffer, start);
+
+        int end = lineEnd(buffer, 0, isEndOfFile);
+        if (end < 0) {
+            return readLongLine(start, capacity * 2);
+        }
+        return decodeLine(buffer, 0, end);
+    }
+
+    /**
+     * Reads from the specified position of the file until the buffer is full or the file ends.
+     *
+     * @return whether the end of the file was reached.
+     */
+    private boolean readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the position of the line break ending the line which starts at the specified position, or -1 if the
+     * line does not end within the bytes read. The end of the file also ends a line.
+     */
+    private static int lineEnd(ByteBuffer page, int start, boolean isEndOfFile) {
+        for (int i = start; i < page.position(); i++) {
+            if (page.get(i) == '\n') {
+                return i;
+            }
+        }
+        return isEndOfFile ? page.position() : -1;
+    }
+
+    private static Task decodeLine(ByteBuffer page, int start, int end) throws InvalidFileTaskTypeException {
+        int contentEnd = end > start && page.get(end - 1) == '\r' ? end - 1 : end;
+        String line = new String(page.array(), start, contentEnd - start, StandardCharsets.UTF_8);
+        return TaskRecordDecoder.decode(line);
+    }
+}
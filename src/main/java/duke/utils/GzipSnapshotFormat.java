@@ -0,0 +1,72 @@
+package duke.utils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import duke.dukeexceptions.InvalidFileTaskTypeException;
+import duke.tasks.Task;
+
+/**
+ * Models a compressed storage format: the plain text format, compressed with gzip.
+ *
+ * Tasks are compressed as they are written and decompressed as they are read, one line at a time, so the contents
+ * of the file are never held in memory as a whole. The file can also be read with standard tools such as
+ * {@code zcat}.
+ */
+public class GzipSnapshotFormat implements SnapshotFormat {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    public List<Task> read(File file) throws IOException, InvalidFileTaskTypeException {
+        List<Task> tasks = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(file), BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            String line = reader.readLine();
+            while (line != null) {
+                if (!line.isEmpty()) {
+                    tasks.add(TaskRecordDecoder.decode(line));
+                }
+                line = reader.readLine();
+            }
+        }
+
+        return tasks;
+    }
+
+    @Override
+    public void write(File file, List<Task> tasks) throws IOException {
+        try (FileOutputStream fileOutput = new FileOutputStream(file)) {
+            GZIPOutputStream gzipOutput = new GZIPOutputStream(fileOutput, BUFFER_SIZE) {
+                {
+                    // Saves happen often, so favour speed over the last few percent of compression.
+                    def.setLevel(Deflater.BEST_SPEED);
+                }
+            };
+            Writer writer = new BufferedWriter(new OutputStreamWriter(gzipOutput, StandardCharsets.UTF_8),
+                    BUFFER_SIZE);
+
+            for (Task task : tasks) {
+                writer.write(TaskStringConverter.taskToStringFile(task));
+                writer.write('\n');
+            }
+
+            writer.flush();
+            gzipOutput.finish();
+            fileOutput.getFD().sync();
+        }
+    }
+}
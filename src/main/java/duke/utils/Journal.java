@@ -0,0 +1,260 @@
+package duke.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import duke.dukeexceptions.InvalidFileTaskTypeException;
+import duke.tasks.Task;
+import duke.tasks.TaskList;
+
+/**
+ * Models an append-only log of changes made to the TaskList since the last snapshot was written.
+ *
+ * Each change is stored as one line, so recording a change costs the same no matter how many tasks there are:
+ * <pre>
+ * A | T | 0 | description      task added (the rest of the line is the task in storage file format)
+ * M | 3                        task at position 3 marked as done
+ * X | 3                        task at position 3 deleted
+ * </pre>
+ */
+public class Journal {
+    private static final String ADD = "A";
+    private static final String MARK_DONE = "M";
+    private static final String DELETE = "X";
+    private static final String SEPARATOR = " | ";
+
+    private final File file;
+
+    /**
+     * Constructs a Journal which appends its records to the file at the specified path.
+     *
+     * @param filepath the filepath of the journal file, as a String.
+     */
+    public Journal(String filepath) {
+        this.file = new File(filepath);
+    }
+
+    /**
+     * Returns the record describing the addition of the specified task.
+     *
+     * @param task the Task added to the TaskList.
+     * @return journal record of the addition.
+     */
+    public static String addRecord(Task task) {
+        return ADD + SEPARATOR + TaskStringConverter.taskToStringFile(task);
+    }
+
+    /**
+     * Returns the record describing the task at the specified position being marked as done.
+     *
+     * @param pos position of the task marked as done.
+     * @return journal record of the change.
+     */
+    public static String doneRecord(int pos) {
+        return MARK_DONE + SEPARATOR + pos;
+    }
+
+    /**
+     * Returns the record describing the deletion of the task at the specified position.
+     *
+     * @param pos position of the deleted task.
+     * @return journal record of the deletion.
+     */
+    public static String deleteRecord(int pos) {
+        return DELETE + SEPARATOR + pos;
+    }
+
+    /**
+     * Checks if the specified record describes the addition of a task.
+     *
+     * @param record a journal record.
+     * @return boolean indicating if the record describes an addition.
+     */
+    public static boolean isAddRecord(String record) {
+        return record.startsWith(ADD + SEPARATOR);
+    }
+
+    /**
+     * Checks if the specified record describes a task being marked as done.
+     *
+     * @param record a journal record.
+     * @return boolean indicating if the record describes a task marked as done.
+     */
+    public static boolean isDoneRecord(String record) {
+        return record.startsWith(MARK_DONE + SEPARATOR);
+    }
+
+    /**
+     * Checks if the specified record describes the deletion of a task.
+     *
+     * @param record a journal record.
+     * @return boolean indicating if the record describes a deletion.
+     */
+    public static boolean isDeleteRecord(String record) {
+        return record.startsWith(DELETE + SEPARATOR);
+    }
+
+    /**
+     * Returns the position of the task changed by the specified done or delete record.
+     *
+     * @param record a done or delete journal record.
+     * @return position of the changed task.
+     */
+    public static int getRecordPosition(String record) {
+        assert isDoneRecord(record) || isDeleteRecord(record);
+        return Integer.parseInt(record.substring(record.indexOf(SEPARATOR) + SEPARATOR.length()));
+    }
+
+    /**
+     * Appends a record to the end of the journal and forces it to the storage device.
+     *
+     * @param record the record to append, without a trailing line break.
+     * @throws IOException if the record cannot be written completely.
+     */
+    public void append(String record) throws IOException {
+        append(List.of(record));
+    }
+
+    /**
+     * Appends records to the end of the journal with a single write, and forces them to the storage device once.
+     *
+     * @param records the records to append in order, without trailing line breaks.
+     * @throws IOException if the records cannot be written completely.
+     */
+    public void append(List<String> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        file.getAbsoluteFile().getParentFile().mkdirs();
+
+        StringBuilder stringBuilder = new StringBuilder();
+        for (String record : records) {
+            stringBuilder.append(record)
+                    .append("\n");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(stringBuilder.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Applies every complete record in the journal, in order, to the specified TaskList.
+     *
+     * A last line without a line break was cut off while being written and is ignored.
+     *
+     * @param taskList the TaskList loaded from the last snapshot.
+     * @return List of the records applied, in order.
+     * @throws IOException if the journal cannot be read.
+     * @throws InvalidFileTaskTypeException if a record cannot be understood.
+     */
+    public List<String> replay(TaskList taskList) throws IOException, InvalidFileTaskTypeException {
+        if (!file.exists()) {
+            return List.of();
+        }
+
+        String[] lines = Files.readString(file.toPath(), StandardCharsets.UTF_8).split("\n", -1);
+
+        // The element after the final line break is either empty or a torn record.
+        List<String> records = Arrays.asList(lines).subList(0, lines.length - 1);
+        for (String record : records) {
+            applyRecord(record, taskList);
+        }
+
+        return records;
+    }
+
+    /**
+     * Creates the journal as an empty file if it does not exist yet.
+     *
+     * @throws IOException if the journal cannot be created.
+     */
+    public void create() throws IOException {
+        if (file.exists()) {
+            return;
+        }
+
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        Files.createFile(file.toPath());
+        Storage.forceDirectory(file.getAbsoluteFile().getParentFile());
+    }
+
+    /**
+     * Checks if the journal file exists.
+     *
+     * @return boolean indicating if the journal exists.
+     */
+    public boolean exists() {
+        return file.exists();
+    }
+
+    /**
+     * Returns the size of the journal.
+     *
+     * @return size of the journal in bytes, or 0 if it does not exist.
+     */
+    public long size() {
+        return file.length();
+    }
+
+    /**
+     * Removes all records from the journal, after their changes have been saved in a snapshot.
+     *
+     * @throws IOException if the journal cannot be removed.
+     */
+    public void clear() throws IOException {
+        if (Files.deleteIfExists(file.toPath())) {
+            Storage.forceDirectory(file.getAbsoluteFile().getParentFile());
+        }
+    }
+
+    private static void applyRecord(String record, TaskList taskList) throws InvalidFileTaskTypeException {
+        String[] typeAndArgument = record.split(" \\| ", 2);
+
+        if (typeAndArgument.length != 2) {
+            throw new InvalidFileTaskTypeException();
+        }
+
+        switch (typeAndArgument[0]) {
+        case ADD:
+            taskList.addTask(TaskStringConverter.fileStringToTask(typeAndArgument[1]));
+            break;
+
+        case MARK_DONE:
+            taskList.setTaskDone(parsePosition(typeAndArgument[1], taskList));
+            break;
+
+        case DELETE:
+            taskList.deleteTask(parsePosition(typeAndArgument[1], taskList));
+            break;
+
+        default:
+            throw new InvalidFileTaskTypeException();
+        }
+    }
+
+    private static int parsePosition(String argument, TaskList taskList) throws InvalidFileTaskTypeException {
+        try {
+            int pos = Integer.parseInt(argument);
+            if (pos < 0 || pos >= taskList.getList().size()) {
+                throw new InvalidFileTaskTypeException();
+            }
+            return pos;
+        } catch (NumberFormatException e) {
+            throw new InvalidFileTaskTypeException();
+        }
+    }
+}
@@ -3,25 +3,36 @@ package duke.utils;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import duke.commands.ByeCommand;
+import duke.commands.ClashesCommand;
 import duke.commands.Command;
 import duke.commands.DeadlineCommand;
 import duke.commands.DeleteCommand;
 import duke.commands.DoneCommand;
+import duke.commands.DueCommand;
 import duke.commands.EventCommand;
 import duke.commands.FindCommand;
+import duke.commands.FuzzyFindCommand;
 import duke.commands.HelpCommand;
 import duke.commands.ListCommand;
+import duke.commands.OverdueCommand;
+import duke.commands.RankedFindCommand;
+import duke.commands.RedoCommand;
 import duke.commands.ToDoCommand;
+import duke.commands.UndoCommand;
 import duke.dukeexceptions.EmptyArgumentException;
 import duke.dukeexceptions.EmptyListException;
 import duke.dukeexceptions.InvalidCommandException;
 import duke.dukeexceptions.InvalidDateTimeException;
 import duke.dukeexceptions.InvalidIndexInputException;
+import duke.tasks.TaskAttribute;
 import duke.tasks.TaskList;
+import duke.tasks.TaskOrder;
 
 /**
  * Models a parser which parses input from the user into commands.
@@ -30,10 +41,24 @@ public class Parser {
     protected static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("[d/M/yyyy HHmm][d MMM yy HHmm]"
             + "[dd-MM-yy HHmm]");
     private static final Pattern REGEX_CHECK_NUMBER = Pattern.compile("^[0-9]+$");
+    private static final Pattern REGEX_RANKED_FIND = Pattern.compile("^" + RankedFindCommand.TOP_FLAG
+            + " +([0-9]{1,6}) +(.*\\S.*)$");
     private static final String INVALID_TASK_MSG = "Please input a valid task description!";
     private static final String MISSING_TASK_DATE = "Please input a valid task date in the following format: "
             + "'%s DESCRIPTION /%s DATE TIME'!";
+    private static final String EVENT_END_BEFORE_START = "Please input an event end date after its start date, in "
+            + "the following format: 'event DESCRIPTION /at DATE TIME /to DATE TIME'!";
+    private static final String INVALID_LIST_FILTER = "Please filter the list by 'done', 'pending', "
+            + "'type:todo', 'type:deadline' or 'type:event', and sort it by one of 'sort:date', 'sort:status' or "
+            + "'sort:type', such as 'list pending type:deadline sort:date'!";
+    private static final String INVALID_DUE_ARGUMENT = "Please use 'due before DATE' or "
+            + "'due between DATE /and DATE'!";
+    private static final String DUE_END_BEFORE_START = "Please input an end date which is not before the start date, "
+            + "in the following format: 'due between DATE /and DATE'!";
     private static final String EMPTY_FIND_ARGUMENT = "Please pass a word after the 'find' command!";
+    private static final String INVALID_RANKED_FIND = "Please pass a number and some words after 'find --top', "
+            + "such as 'find --top 20 report budget'!";
+    private static final String EMPTY_FUZZY_FIND = "Please pass a word after 'find ~', such as 'find ~meting'!";
     private static final String MISSING_INDEX_ARGUMENT = "Please pass an index after the '%s' command!";
     private static final String EXCEED_LIST_RANGE = "Please input an index from 1 to %d!";
     private static final String EMPTY_TASKLIST_DONE = "You have already done all tasks!";
@@ -92,6 +117,21 @@ public class Parser {
         case ListCommand.COMMAND_WORD:
             return prepareList(commandAndInput);
 
+        case DueCommand.COMMAND_WORD:
+            return prepareDue(commandAndInput);
+
+        case OverdueCommand.COMMAND_WORD:
+            return prepareOverdue(commandAndInput);
+
+        case ClashesCommand.COMMAND_WORD:
+            return prepareClashes(commandAndInput);
+
+        case UndoCommand.COMMAND_WORD:
+            return prepareUndo(commandAndInput);
+
+        case RedoCommand.COMMAND_WORD:
+            return prepareRedo(commandAndInput);
+
         case ByeCommand.COMMAND_WORD:
             return prepareExit(commandAndInput);
 
@@ -157,12 +197,17 @@ public class Parser {
 
         trimInputsInArray(taskInputAndDate);
 
-        try {
-            LocalDateTime dateTime = LocalDateTime.parse(taskInputAndDate[1], FORMATTER);
+        String[] startAndEnd = taskInputAndDate[1].split("/to", 2);
+        LocalDateTime dateTime = parseDateTime(startAndEnd[0]);
+        if (startAndEnd.length < 2) {
             return new EventCommand(this.taskList, this.storage, taskInputAndDate[0], dateTime);
-        } catch (DateTimeParseException e) {
-            throw new InvalidDateTimeException();
         }
+
+        LocalDateTime endDateTime = parseDateTime(startAndEnd[1]);
+        if (!endDateTime.isAfter(dateTime)) {
+            throw new EmptyArgumentException(EVENT_END_BEFORE_START);
+        }
+        return new EventCommand(this.taskList, this.storage, taskInputAndDate[0], dateTime, endDateTime);
     }
 
     private Command prepareFind(String[] commandAndInput) throws EmptyArgumentException, EmptyListException {
@@ -176,9 +221,34 @@ public class Parser {
 
         assert commandAndInput.length == 2;
 
+        if (commandAndInput[1].startsWith(RankedFindCommand.TOP_FLAG + " ")) {
+            return prepareRankedFind(commandAndInput[1]);
+        } else if (commandAndInput[1].startsWith(FuzzyFindCommand.FUZZY_PREFIX)) {
+            return prepareFuzzyFind(commandAndInput[1]);
+        }
+
         return new FindCommand(this.taskList, this.storage, commandAndInput[1]);
     }
 
+    private Command prepareFuzzyFind(String input) throws EmptyArgumentException {
+        String words = input.substring(FuzzyFindCommand.FUZZY_PREFIX.length()).trim();
+        if (words.isEmpty()) {
+            throw new EmptyArgumentException(EMPTY_FUZZY_FIND);
+        }
+
+        return new FuzzyFindCommand(this.taskList, this.storage, words);
+    }
+
+    private Command prepareRankedFind(String input) throws EmptyArgumentException {
+        Matcher matcher = REGEX_RANKED_FIND.matcher(input);
+        if (!matcher.find() || Integer.parseInt(matcher.group(1)) == 0) {
+            throw new EmptyArgumentException(INVALID_RANKED_FIND);
+        }
+
+        return new RankedFindCommand(this.taskList, this.storage, Integer.parseInt(matcher.group(1)),
+                matcher.group(2).trim());
+    }
+
     private Command prepareDone(String[] commandAndInput) throws InvalidIndexInputException, EmptyArgumentException {
         if (insufficientArgumentFromUser(commandAndInput)) {
             throw new EmptyArgumentException(String.format(MISSING_INDEX_ARGUMENT, "done"));
@@ -215,12 +285,131 @@ public class Parser {
         return new DeleteCommand(this.taskList, this.storage, position);
     }
 
-    private Command prepareList(String[] commandAndInput) throws InvalidCommandException {
+    private Command prepareList(String[] commandAndInput) throws EmptyArgumentException {
+        if (commandAndInput.length == 1) {
+            return new ListCommand(this.taskList, this.storage);
+        }
+
+        Set<TaskAttribute> attributes = EnumSet.noneOf(TaskAttribute.class);
+        TaskOrder order = null;
+        for (String filter : commandAndInput[1].trim().split(" +")) {
+            if (!filter.startsWith(ListCommand.SORT_PREFIX)) {
+                attributes.add(parseListFilter(filter));
+            } else if (order == null) {
+                order = parseListOrder(filter.substring(ListCommand.SORT_PREFIX.length()));
+            } else {
+                throw new EmptyArgumentException(INVALID_LIST_FILTER);
+            }
+        }
+        return new ListCommand(this.taskList, this.storage, attributes, order == null ? TaskOrder.LIST : order);
+    }
+
+    private TaskOrder parseListOrder(String order) throws EmptyArgumentException {
+        switch (order) {
+        case ListCommand.SORT_DATE_WORD:
+            return TaskOrder.DATE;
+
+        case ListCommand.SORT_STATUS_WORD:
+            return TaskOrder.STATUS;
+
+        case ListCommand.SORT_TYPE_WORD:
+            return TaskOrder.TYPE;
+
+        default:
+            throw new EmptyArgumentException(INVALID_LIST_FILTER);
+        }
+    }
+
+    private TaskAttribute parseListFilter(String filter) throws EmptyArgumentException {
+        switch (filter) {
+        case ListCommand.DONE_WORD:
+            return TaskAttribute.DONE;
+
+        case ListCommand.PENDING_WORD:
+            return TaskAttribute.PENDING;
+
+        case ListCommand.TYPE_PREFIX + ToDoCommand.COMMAND_WORD:
+            return TaskAttribute.TODO;
+
+        case ListCommand.TYPE_PREFIX + DeadlineCommand.COMMAND_WORD:
+            return TaskAttribute.DEADLINE;
+
+        case ListCommand.TYPE_PREFIX + EventCommand.COMMAND_WORD:
+            return TaskAttribute.EVENT;
+
+        default:
+            throw new EmptyArgumentException(INVALID_LIST_FILTER);
+        }
+    }
+
+    private Command prepareDue(String[] commandAndInput) throws EmptyArgumentException, InvalidDateTimeException {
+        if (insufficientArgumentFromUser(commandAndInput)) {
+            throw new EmptyArgumentException(INVALID_DUE_ARGUMENT);
+        }
+
+        assert commandAndInput.length == 2;
+
+        String[] rangeTypeAndDates = commandAndInput[1].trim().split(" ", 2);
+        if (rangeTypeAndDates.length < 2) {
+            throw new EmptyArgumentException(INVALID_DUE_ARGUMENT);
+        }
+
+        if (rangeTypeAndDates[0].equals(DueCommand.BEFORE_WORD)) {
+            return new DueCommand(this.taskList, this.storage, parseDateTime(rangeTypeAndDates[1]));
+        } else if (rangeTypeAndDates[0].equals(DueCommand.BETWEEN_WORD)) {
+            String[] fromAndTo = rangeTypeAndDates[1].split("/and", 2);
+            if (fromAndTo.length < 2) {
+                throw new EmptyArgumentException(INVALID_DUE_ARGUMENT);
+            }
+            LocalDateTime from = parseDateTime(fromAndTo[0]);
+            LocalDateTime to = parseDateTime(fromAndTo[1]);
+            if (to.isBefore(from)) {
+                throw new EmptyArgumentException(DUE_END_BEFORE_START);
+            }
+            return new DueCommand(this.taskList, this.storage, from, to);
+        } else {
+            throw new EmptyArgumentException(INVALID_DUE_ARGUMENT);
+        }
+    }
+
+    private Command prepareOverdue(String[] commandAndInput) throws InvalidCommandException {
+        if (commandAndInput.length > 1) {
+            throw new InvalidCommandException();
+        }
+
+        return new OverdueCommand(this.taskList, this.storage);
+    }
+
+    private Command prepareClashes(String[] commandAndInput) throws InvalidCommandException {
+        if (commandAndInput.length > 1) {
+            throw new InvalidCommandException();
+        }
+
+        return new ClashesCommand(this.taskList, this.storage);
+    }
+
+    private Command prepareUndo(String[] commandAndInput) throws InvalidCommandException {
         if (commandAndInput.length > 1) {
             throw new InvalidCommandException();
         }
 
-        return new ListCommand(this.taskList, this.storage);
+        return new UndoCommand(this.taskList, this.storage);
+    }
+
+    private Command prepareRedo(String[] commandAndInput) throws InvalidCommandException {
+        if (commandAndInput.length > 1) {
+            throw new InvalidCommandException();
+        }
+
+        return new RedoCommand(this.taskList, this.storage);
+    }
+
+    private LocalDateTime parseDateTime(String input) throws InvalidDateTimeException {
+        try {
+            return LocalDateTime.parse(input.trim(), FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new InvalidDateTimeException();
+        }
     }
 
     private Command prepareExit(String[] commandAndInput) throws InvalidCommandException {
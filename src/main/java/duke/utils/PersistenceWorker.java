@@ -0,0 +1,233 @@
+package duke.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.tasks.Task;
+
+/**
+ * Models a background thread which performs all writes to local storage on behalf of a Storage object, so that
+ * the thread running commands never waits for the disk.
+ *
+ * Writes are handed over in order and processed in batches. All journal records in a batch are written together
+ * and forced to the storage device once (group commit), and when a batch contains several snapshot requests only
+ * the latest is written, together with the records that came after it.
+ *
+ * Each record is handed over with a snapshot of the list it leaves behind. If a write fails, the journal may be
+ * missing records or end part way through one, so nothing more is appended to it; the next batch is written as a
+ * snapshot of the list after its last change instead, which also clears the journal.
+ */
+public class PersistenceWorker {
+    private final Storage storage;
+    private final Journal journal;
+    private final Thread thread;
+    private final List<PendingWrite> pending = new ArrayList<>();
+
+    private long submittedCount = 0;
+    private long completedCount = 0;
+    private IOException failure = null;
+    private boolean isClosed = false;
+
+    // Only used by the background thread.
+    private boolean isJournalUnusable = false;
+    private List<Task> latestTasks = null;
+
+    /**
+     * Constructs a PersistenceWorker and starts its background thread.
+     *
+     * @param storage the Storage object used to write snapshots.
+     * @param journal the journal that records are appended to.
+     */
+    public PersistenceWorker(Storage storage, Journal journal) {
+        this.storage = storage;
+        this.journal = journal;
+        this.thread = new Thread(this::run, "duke-storage-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues a journal record to be appended in the background. The record is queued even if an earlier write
+     * failed, in which case the specified tasks are written as a snapshot instead.
+     *
+     * @param record the journal record to append.
+     * @param tasks snapshot of all the Tasks after the recorded change, which must not be modified afterwards.
+     * @throws IOException if an earlier write in the background failed, or this PersistenceWorker is closed.
+     */
+    public synchronized void submitRecord(String record, List<Task> tasks) throws IOException {
+        submit(new PendingWrite(record, tasks, false));
+        throwPendingFailure();
+    }
+
+    /**
+     * Queues a snapshot of the specified tasks to be written in the background. The list must not be modified
+     * afterwards.
+     *
+     * @param tasks snapshot of all the Tasks to write.
+     * @param isRestored whether the list was changed in a way no record describes, such as by undo.
+     * @throws IOException if an earlier write in the background failed, or this PersistenceWorker is closed.
+     */
+    public synchronized void submitSnapshot(List<Task> tasks, boolean isRestored) throws IOException {
+        submit(new PendingWrite(null, tasks, isRestored));
+        throwPendingFailure();
+    }
+
+    /**
+     * Waits until every write submitted before this call has been saved to the storage device.
+     *
+     * @throws IOException if a write in the background failed.
+     */
+    public synchronized void awaitDurable() throws IOException {
+        long target = submittedCount;
+        boolean isInterrupted = false;
+
+        while (completedCount < target) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+        throwPendingFailure();
+    }
+
+    /**
+     * Stops accepting writes, and waits for the background thread to save everything already submitted.
+     */
+    public void close() {
+        synchronized (this) {
+            isClosed = true;
+            notifyAll();
+        }
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submit(PendingWrite write) throws IOException {
+        // The background thread may already have stopped, so the write would never be made.
+        if (isClosed) {
+            throw new IOException("Storage has been closed");
+        }
+
+        pending.add(write);
+        submittedCount++;
+        notifyAll();
+    }
+
+    private void throwPendingFailure() throws IOException {
+        if (failure != null) {
+            IOException e = failure;
+            failure = null;
+            throw e;
+        }
+    }
+
+    private void run() {
+        while (true) {
+            List<PendingWrite> batch;
+            long batchEnd;
+
+            synchronized (this) {
+                while (pending.isEmpty() && !isClosed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // Only close() stops this thread, so that no submitted write is dropped.
+                    }
+                }
+
+                if (pending.isEmpty()) {
+                    break;
+                }
+
+                batch = new ArrayList<>(pending);
+                pending.clear();
+                batchEnd = submittedCount;
+            }
+
+            IOException error = null;
+            try {
+                writeBatch(batch);
+            } catch (IOException e) {
+                isJournalUnusable = true;
+                error = e;
+            }
+
+            synchronized (this) {
+                completedCount = batchEnd;
+                if (error != null) {
+                    failure = error;
+                }
+                notifyAll();
+            }
+        }
+
+        // Nothing else will be written, so this is the last chance to save changes whose write failed.
+        if (isJournalUnusable) {
+            try {
+                storage.writeSnapshot(latestTasks);
+            } catch (IOException e) {
+                // The program is exiting, so there is no one left to report the failure to.
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingWrite> batch) throws IOException {
+        latestTasks = batch.get(batch.size() - 1).snapshot;
+
+        int lastSnapshot = -1;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i).record == null) {
+                lastSnapshot = i;
+            }
+        }
+        if (isJournalUnusable) {
+            lastSnapshot = batch.size() - 1;
+        }
+
+        // Records up to the latest snapshot are already contained in it, so they are only tracked.
+        for (int i = 0; i <= lastSnapshot; i++) {
+            if (batch.get(i).record != null) {
+                storage.trackChange(batch.get(i).record);
+            } else if (batch.get(i).isRestored) {
+                storage.resetChanges();
+            }
+        }
+        if (lastSnapshot >= 0) {
+            storage.writeSnapshot(batch.get(lastSnapshot).snapshot);
+            isJournalUnusable = false;
+        }
+
+        List<String> records = new ArrayList<>();
+        for (int i = lastSnapshot + 1; i < batch.size(); i++) {
+            storage.trackChange(batch.get(i).record);
+            records.add(batch.get(i).record);
+        }
+        journal.append(records);
+    }
+
+    /**
+     * Represents one write handed to the background thread: either a journal record with the Tasks it leaves
+     * behind, or a snapshot request with no record, which may follow a change no record describes.
+     */
+    private static class PendingWrite {
+        private final String record;
+        private final List<Task> snapshot;
+        private final boolean isRestored;
+
+        private PendingWrite(String record, List<Task> snapshot, boolean isRestored) {
+            this.record = record;
+            this.snapshot = snapshot;
+            this.isRestored = isRestored;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package duke.utils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import duke.dukeexceptions.InvalidFileTaskTypeException;
+import duke.tasks.Task;
+
+/**
+ * Models a storage format which splits the tasks into segments of consecutive tasks, each stored in its own text
+ * file, so that a snapshot only rewrites the segments containing changed tasks.
+ *
+ * The snapshot file itself is a small manifest listing the segment files in order, with the number of tasks in
+ * each. Segment files are never modified: a changed segment is written to a new file, and the file it replaces is
+ * removed once the manifest referring to the new file has replaced the previous manifest.
+ */
+public class SegmentedSnapshotFormat implements SnapshotFormat {
+    private static final String MANIFEST_HEADER = "DUKE-SEGMENTS 1";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".txt";
+    private static final int SEGMENT_CAPACITY = 1024;
+
+    private final File directory;
+    private final TextSnapshotFormat textFormat = new TextSnapshotFormat();
+    private final List<Segment> segments = new ArrayList<>();
+    private final List<File> replacedFiles = new ArrayList<>();
+    private final List<File> uncommittedReplacedFiles = new ArrayList<>();
+    private long nextSegmentId = 0;
+
+    /**
+     * Constructs a SegmentedSnapshotFormat which keeps its segment files in the specified directory.
+     *
+     * @param directory the directory for segment files, as a String.
+     */
+    public SegmentedSnapshotFormat(String directory) {
+        this.directory = new File(directory);
+    }
+
+    @Override
+    public List<Task> read(File file) throws IOException, InvalidFileTaskTypeException {
+        segments.clear();
+        replacedFiles.clear();
+        uncommittedReplacedFiles.clear();
+
+        List<Task> tasks = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            if (!MANIFEST_HEADER.equals(reader.readLine())) {
+                throw new IOException("Not a segment manifest: " + file);
+            }
+
+            String line = reader.readLine();
+            while (line != null && !line.isEmpty()) {
+                Segment segment = parseManifestLine(line);
+                List<Task> segmentTasks = textFormat.read(new File(directory, segment.fileName));
+                if (segmentTasks.size() != segment.count) {
+                    throw new InvalidFileTaskTypeException();
+                }
+
+                tasks.addAll(segmentTasks);
+                segments.add(segment);
+                nextSegmentId = Math.max(nextSegmentId, segmentId(segment.fileName) + 1);
+                line = reader.readLine();
+            }
+        }
+
+        removeUnusedSegmentFiles();
+        return tasks;
+    }
+
+    /**
+     * Writes new files for the segments containing changed tasks, followed by the manifest. The specified Tasks are
+     * expected to be the TaskList as it was after all the changes passed to {@link #onChange(String)}; if the number
+     * of tasks does not match, such as when importing tasks from another file, every segment is rewritten.
+     */
+    @Override
+    public void write(File file, List<Task> tasks) throws IOException {
+        if (totalCount() != tasks.size()) {
+            resetSegments(tasks.size());
+        }
+
+        directory.mkdirs();
+        StringBuilder manifest = new StringBuilder(MANIFEST_HEADER).append("\n");
+
+        int start = 0;
+        for (Segment segment : segments) {
+            if (segment.isDirty || segment.fileName == null) {
+                String fileName = SEGMENT_PREFIX + nextSegmentId++ + SEGMENT_SUFFIX;
+                textFormat.write(new File(directory, fileName), tasks.subList(start, start + segment.count));
+
+                if (segment.fileName != null) {
+                    uncommittedReplacedFiles.add(new File(directory, segment.fileName));
+                }
+                segment.fileName = fileName;
+                segment.isDirty = false;
+            }
+
+            manifest.append(segment.fileName)
+                    .append(" ")
+                    .append(segment.count)
+                    .append("\n");
+            start += segment.count;
+        }
+
+        Storage.forceDirectory(directory);
+        textFormat.writeString(file, manifest.toString());
+
+        replacedFiles.addAll(uncommittedReplacedFiles);
+        uncommittedReplacedFiles.clear();
+    }
+
+    @Override
+    public void onChange(String record) {
+        if (Journal.isAddRecord(record)) {
+            if (segments.isEmpty() || segments.get(segments.size() - 1).count >= SEGMENT_CAPACITY) {
+                segments.add(new Segment(null, 0));
+            }
+            Segment last = segments.get(segments.size() - 1);
+            last.count++;
+            last.isDirty = true;
+        } else if (Journal.isDoneRecord(record)) {
+            findSegment(Journal.getRecordPosition(record)).isDirty = true;
+        } else if (Journal.isDeleteRecord(record)) {
+            Segment segment = findSegment(Journal.getRecordPosition(record));
+            segment.count--;
+            segment.isDirty = true;
+
+            if (segment.count == 0) {
+                segments.remove(segment);
+                if (segment.fileName != null) {
+                    uncommittedReplacedFiles.add(new File(directory, segment.fileName));
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks every segment as changed, so the next snapshot rewrites all of them.
+     */
+    @Override
+    public void onReset() {
+        for (Segment segment : segments) {
+            segment.isDirty = true;
+        }
+    }
+
+    @Override
+    public void onCommit() throws IOException {
+        for (File replaced : replacedFiles) {
+            Files.deleteIfExists(replaced.toPath());
+        }
+        replacedFiles.clear();
+    }
+
+    /**
+     * Returns the number of segments which will be rewritten by the next snapshot.
+     *
+     * @return number of changed segments.
+     */
+    public int getDirtySegmentCount() {
+        int count = 0;
+        for (Segment segment : segments) {
+            if (segment.isDirty || segment.fileName == null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void resetSegments(int taskCount) {
+        for (Segment segment : segments) {
+            if (segment.fileName != null) {
+                uncommittedReplacedFiles.add(new File(directory, segment.fileName));
+            }
+        }
+
+        segments.clear();
+        for (int start = 0; start < taskCount; start += SEGMENT_CAPACITY) {
+            segments.add(new Segment(null, Math.min(SEGMENT_CAPACITY, taskCount - start)));
+        }
+    }
+
+    private Segment findSegment(int pos) {
+        int start = 0;
+        for (Segment segment : segments) {
+            if (pos < start + segment.count) {
+                return segment;
+            }
+            start += segment.count;
+        }
+        throw new IndexOutOfBoundsException("Position " + pos + " is not in any segment");
+    }
+
+    private int totalCount() {
+        int count = 0;
+        for (Segment segment : segments) {
+            count += segment.count;
+        }
+        return count;
+    }
+
+    private Segment parseManifestLine(String line) throws InvalidFileTaskTypeException {
+        String[] nameAndCount = line.split(" ");
+        if (nameAndCount.length != 2 || segmentId(nameAndCount[0]) < 0) {
+            throw new InvalidFileTaskTypeException();
+        }
+
+        try {
+            return new Segment(nameAndCount[0], Integer.parseInt(nameAndCount[1]));
+        } catch (NumberFormatException e) {
+            throw new InvalidFileTaskTypeException();
+        }
+    }
+
+    /**
+     * Returns the id in the name of a segment file, or -1 if the name is not that of a segment file.
+     */
+    private static long segmentId(String fileName) {
+        if (!fileName.startsWith(SEGMENT_PREFIX) || !fileName.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(),
+                    fileName.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Removes segment files left behind by snapshots which were replaced, or never completed, before the program
+     * last stopped.
+     */
+    private void removeUnusedSegmentFiles() throws IOException {
+        Set<String> used = new HashSet<>();
+        for (Segment segment : segments) {
+            used.add(segment.fileName);
+        }
+
+        String[] fileNames = directory.list();
+        if (fileNames == null) {
+            return;
+        }
+        for (String fileName : fileNames) {
+            if (segmentId(fileName) >= 0 && !used.contains(fileName)) {
+                Files.deleteIfExists(new File(directory, fileName).toPath());
+            }
+        }
+    }
+
+    /**
+     * Represents a run of consecutive tasks stored in one segment file.
+     */
+    private static class Segment {
+        private String fileName;
+        private int count;
+        private boolean isDirty;
+
+        private Segment(String fileName, int count) {
+            this.fileName = fileName;
+            this.count = count;
+        }
+    }
+}
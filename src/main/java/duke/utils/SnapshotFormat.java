@@ -0,0 +1,58 @@
+package duke.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import duke.dukeexceptions.InvalidFileTaskTypeException;
+import duke.tasks.Task;
+
+/**
+ * Represents a way of encoding the complete list of Tasks in a local storage file.
+ */
+public interface SnapshotFormat {
+    /**
+     * Returns all Tasks stored in the specified file, in order.
+     *
+     * @param file the local storage file, which must exist.
+     * @return modifiable List of Tasks.
+     * @throws IOException if the file cannot be read.
+     * @throws InvalidFileTaskTypeException if an entry in the file is invalid.
+     */
+    List<Task> read(File file) throws IOException, InvalidFileTaskTypeException;
+
+    /**
+     * Writes all the specified Tasks to the specified file, replacing its contents, and forces the file to the
+     * storage device.
+     *
+     * @param file the file to write.
+     * @param tasks List of all Tasks.
+     * @throws IOException if unable to write to file completely.
+     */
+    void write(File file, List<Task> tasks) throws IOException;
+
+    /**
+     * Notifies this format of a change to the TaskList made after the last snapshot was read or written, in the
+     * order the changes were made. Formats which only rewrite the changed parts of a snapshot use this to find them.
+     *
+     * @param record the journal record describing the change.
+     */
+    default void onChange(String record) {
+    }
+
+    /**
+     * Notifies this format that the TaskList has changed in a way no journal record describes, such as by undo, so
+     * the next snapshot cannot rely on the changes it was notified of before.
+     */
+    default void onReset() {
+    }
+
+    /**
+     * Notifies this format that the snapshot it last wrote has replaced the previous one, so files which only the
+     * previous snapshot used can be removed.
+     *
+     * @throws IOException if such files cannot be removed.
+     */
+    default void onCommit() throws IOException {
+    }
+}
@@ -1,12 +1,14 @@
 package duke.utils;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
 
 import duke.dukeexceptions.InvalidFileTaskTypeException;
 import duke.tasks.Task;
@@ -14,9 +16,42 @@ import duke.tasks.TaskList;
 
 /**
  * Models a utility which reads from local storage and writes to local storage.
+ *
+ * Tasks are saved as a snapshot of the whole TaskList, plus a journal of the changes made since that snapshot was
+ * written, so that each change can be saved without rewriting every task. Once the journal grows past a size
+ * threshold, it is compacted into a fresh snapshot so that loading never has to replay a long journal. Writes can
+ * optionally be handed to a background thread, which keeps disk access off the thread running commands.
+ *
+ * A snapshot is first written to a temporary file and forced to the storage device. Deleting the journal then
+ * commits the snapshot, after which the temporary file is renamed over the local storage file. If the program
+ * stops part way, the next load either discards the temporary file (the journal still exists) or finishes the
+ * rename (the journal was already deleted), so the local storage file is never left half written.
+ *
+ * Snapshots are encoded with a SnapshotFormat, which is plain text unless another format is specified. A Storage
+ * using another format can import an existing text file the first time it loads. A text file can also be loaded
+ * lazily, in which case tasks are only read from the file when they are accessed.
+ *
+ * Journal records refer to tasks by position, so they must be written in the order the changes were made. When
+ * several threads change a TaskList, they make each change through this Storage, which makes the change and
+ * records it while holding its lock, and writes snapshots under the same lock. A thread choosing a position from
+ * the list as it is can hold the lock of this Storage itself, so no other change moves the task meanwhile.
  */
 public class Storage {
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String MIGRATED_SUFFIX = ".migrated";
+    private static final long COMPACTION_THRESHOLD_BYTES = 256 * 1024;
+
     private String filepath;
+    private SnapshotFormat format;
+    private Journal journal;
+    private PersistenceWorker worker;
+    private long journalSize;
+    private boolean isJournalUnusable;
+    private String migrationSource;
+    private boolean isLoadedLazily;
+    private boolean isStoredInColumns;
+    private FileBackedTaskList lazyTasks;
 
     /**
      * Constructs a Storage object responsible for reading and writing to the local storage file.
@@ -24,53 +59,423 @@ public class Storage {
      * @param filepath the filepath of the local storage file, as a String.
      */
     public Storage(String filepath) {
+        this(filepath, false);
+    }
+
+    /**
+     * Constructs a Storage object responsible for reading and writing to the local storage file, optionally
+     * performing all writes on a background thread.
+     *
+     * @param filepath the filepath of the local storage file, as a String.
+     * @param isWrittenInBackground whether writes should be performed on a background thread.
+     */
+    public Storage(String filepath, boolean isWrittenInBackground) {
+        this(filepath, new TextSnapshotFormat(), isWrittenInBackground);
+    }
+
+    /**
+     * Constructs a Storage object responsible for reading and writing to the local storage file in the specified
+     * format, optionally performing all writes on a background thread.
+     *
+     * @param filepath the filepath of the local storage file, as a String.
+     * @param format the format of the local storage file.
+     * @param isWrittenInBackground whether writes should be performed on a background thread.
+     */
+    public Storage(String filepath, SnapshotFormat format, boolean isWrittenInBackground) {
         this.filepath = filepath;
+        this.format = format;
+        this.journal = new Journal(filepath + JOURNAL_SUFFIX);
+
+        if (isWrittenInBackground) {
+            this.worker = new PersistenceWorker(this, this.journal);
+            Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+        }
     }
 
     /**
      * Loads stored Tasks from local file and returns a TaskList populated with these Tasks.
+     * Changes recorded in the journal after the file was last written are replayed on top of it, and cannot be
+     * undone.
      * If file is empty or does not exist, an empty TaskList will be returned.
      *
      * @return TaskList populated with Tasks, if applicable.
+     * @throws IOException if the local file or journal cannot be read.
+     * @throws InvalidFileTaskTypeException if an entry in the local file or journal is invalid.
      */
-    public TaskList loadFromFile() throws FileNotFoundException, InvalidFileTaskTypeException {
-        File file = new File(filepath);
+    public TaskList loadFromFile() throws IOException, InvalidFileTaskTypeException {
+        recoverSnapshot();
+        migrateIfNeeded();
+
+        TaskList taskList = loadSnapshot();
+        for (String record : journal.replay(taskList)) {
+            format.onChange(record);
+        }
+        journalSize = journal.size();
+        taskList.clearHistory();
+        return taskList;
+    }
+
+    private void recoverSnapshot() throws IOException {
+        File temporaryFile = new File(filepath + TEMPORARY_SUFFIX);
+        if (!temporaryFile.exists()) {
+            return;
+        }
+
+        if (journal.exists()) {
+            Files.delete(temporaryFile.toPath());
+        } else {
+            moveIntoPlace(temporaryFile, new File(filepath));
+        }
+    }
+
+    /**
+     * Sets a local storage file in the text format to import tasks from, when this Storage loads and its own file
+     * does not exist yet. After the import, the text file and its journal are renamed with a ".migrated" suffix.
+     *
+     * @param textFilepath the filepath of the text storage file, as a String.
+     */
+    public void setMigrationSource(String textFilepath) {
+        this.migrationSource = textFilepath;
+    }
+
+    /**
+     * Sets whether a text storage file is loaded lazily, such that each Task is only read from the file when it is
+     * accessed, instead of reading every Task when loading. Has no effect for other formats.
+     *
+     * @param isLoadedLazily whether the text storage file is loaded lazily.
+     */
+    public void setLoadedLazily(boolean isLoadedLazily) {
+        this.isLoadedLazily = isLoadedLazily;
+    }
+
+    /**
+     * Sets whether loaded Tasks are kept in columns of primitives rather than as objects, which takes much less
+     * memory for long lists. Every Task is then read when loading, even if the file is set to be loaded lazily.
+     *
+     * @param isStoredInColumns whether loaded Tasks are kept in columns.
+     * @see TaskList#TaskList(List, boolean)
+     */
+    public void setStoredInColumns(boolean isStoredInColumns) {
+        this.isStoredInColumns = isStoredInColumns;
+    }
 
-        List<String> txtInput = new ArrayList<>();
-        if (file.exists()) {
-            Scanner scannerFile = new Scanner(file);
-            while (scannerFile.hasNextLine()) {
-                txtInput.add(scannerFile.nextLine());
+    private void migrateIfNeeded() throws IOException, InvalidFileTaskTypeException {
+        if (migrationSource == null || new File(filepath).exists()) {
+            return;
+        }
+
+        File textFile = new File(migrationSource);
+        File textJournal = new File(migrationSource + JOURNAL_SUFFIX);
+        if (!textFile.exists() && !textJournal.exists()) {
+            return;
+        }
+
+        TaskList imported = new Storage(migrationSource).loadFromFile();
+        writeSnapshot(imported.getList());
+
+        for (File migrated : new File[] {textFile, textJournal}) {
+            if (migrated.exists()) {
+                moveIntoPlace(migrated, new File(migrated.getPath() + MIGRATED_SUFFIX));
             }
-            scannerFile.close();
         }
+    }
+
+    private TaskList loadSnapshot() throws IOException, InvalidFileTaskTypeException {
+        // The TaskList loaded before is replaced by the one loaded now, so its file is no longer read.
+        closeLazyTasks();
 
-        if (txtInput.size() == 0) {
-            return new TaskList();
+        File file = new File(filepath);
+        if (!file.exists()) {
+            return isStoredInColumns ? new TaskList(new ArrayList<>(), true) : new TaskList();
         }
 
-        List<Task> convertedTaskList = TaskStringConverter.listStringToListTask(txtInput);
-        assert convertedTaskList.size() > 0;
+        if (isStoredInColumns) {
+            return new TaskList(format.read(file), true);
+        }
+        if (isLoadedLazily && format instanceof TextSnapshotFormat) {
+            lazyTasks = new FileBackedTaskList(file);
+            return new TaskList(lazyTasks);
+        }
+        return new TaskList(format.read(file));
+    }
 
-        return new TaskList(convertedTaskList);
+    /**
+     * Writes all Tasks to file, and saves file to specified filepath. The journal is cleared once its changes are
+     * contained in the file. An empty list is written as an empty file.
+     *
+     * When writing in the background, this only takes a snapshot of the list, which commands may keep changing
+     * meanwhile; repeated calls before the background thread catches up result in a single write. Use
+     * {@link #flush()} to wait for the write to complete.
+     *
+     * @param taskList List of all Tasks.
+     * @throws IOException if unable to write to file completely.
+     */
+    public synchronized void writeToFile(TaskList taskList) throws IOException {
+        writeToFile(taskList, false);
     }
 
     /**
-     * Writes all Tasks to file, and saves file to specified filepath.
+     * Writes all Tasks to file like {@link #writeToFile(TaskList)}, after the TaskList was changed in a way no
+     * journal record describes, such as by undo or redo. Snapshot formats which only rewrite the changed parts of
+     * a snapshot rewrite all of it instead.
      *
      * @param taskList List of all Tasks.
      * @throws IOException if unable to write to file completely.
      */
-    public void writeToFile(TaskList taskList) throws IOException {
-        if (!taskList.getList().isEmpty()) {
-            String stringToWrite = TaskStringConverter.stringTasksForFile(taskList.getList());
+    public synchronized void writeRestoredToFile(TaskList taskList) throws IOException {
+        writeToFile(taskList, true);
+    }
+
+    private void writeToFile(TaskList taskList, boolean isRestored) throws IOException {
+        List<Task> tasks = taskList.getList();
+
+        if (worker != null) {
+            worker.submitSnapshot(tasks, isRestored);
+        } else {
+            if (isRestored) {
+                resetChanges();
+            }
+            writeSnapshot(tasks);
+            isJournalUnusable = false;
+        }
+        journalSize = 0;
+    }
+
+    /**
+     * Writes the specified Tasks to file and clears the journal, such that either the whole write takes effect or
+     * none of it does.
+     *
+     * @param tasks List of all Tasks.
+     * @throws IOException if unable to write to file completely.
+     */
+    void writeSnapshot(List<Task> tasks) throws IOException {
+        File file = new File(filepath);
+        File temporaryFile = new File(filepath + TEMPORARY_SUFFIX);
+        file.getAbsoluteFile().getParentFile().mkdirs();
+
+        // An existing journal marks the temporary file as incomplete until the journal is deleted below.
+        journal.create();
+
+        format.write(temporaryFile, tasks);
+
+        journal.clear();
+        moveIntoPlace(temporaryFile, file);
+        format.onCommit();
+    }
+
+    /**
+     * Passes a recorded change on to the snapshot format, in the order the changes were made.
+     *
+     * @param record the journal record describing the change.
+     */
+    void trackChange(String record) {
+        format.onChange(record);
+    }
+
+    /**
+     * Tells the snapshot format that the changes passed on so far no longer describe the list, in order with the
+     * changes passed on by {@link #trackChange(String)}.
+     */
+    void resetChanges() {
+        format.onReset();
+    }
+
+    private static void moveIntoPlace(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        forceDirectory(target.getAbsoluteFile().getParentFile());
+    }
+
+    /**
+     * Forces changes to the entries of the specified directory, such as a created, deleted or renamed file, to the
+     * storage device. This is not supported on every platform, in which case nothing is done.
+     *
+     * @param directory the directory to force.
+     */
+    static void forceDirectory(File directory) {
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened for reading on some platforms, such as Windows.
+        }
+    }
+
+    /**
+     * Waits until every change and snapshot handed to the background thread has been saved. Returns immediately
+     * when writes are not performed in the background.
+     *
+     * @throws IOException if a write in the background failed.
+     */
+    public void flush() throws IOException {
+        if (worker != null) {
+            worker.awaitDurable();
+        }
+    }
+
+    /**
+     * Waits for the background thread to save everything already submitted, and closes the file of a lazily loaded
+     * TaskList. Called when the program exits if writes are performed in the background. Changes recorded
+     * afterwards cannot be saved in the background, so recording them throws an IOException.
+     */
+    public void close() {
+        if (worker != null) {
+            worker.close();
+        }
+        try {
+            closeLazyTasks();
+        } catch (IOException e) {
+            // Nothing was written through the file, so there is nothing to lose.
+        }
+    }
+
+    private void closeLazyTasks() throws IOException {
+        if (lazyTasks != null) {
+            lazyTasks.close();
+            lazyTasks = null;
+        }
+    }
+
+    /**
+     * Adds the specified Task to the end of the TaskList, and records the change in the journal before any other
+     * change made through this Storage.
+     *
+     * @param taskList the TaskList to add the Task to.
+     * @param task the Task to add.
+     * @throws IOException if the change was made but cannot be saved.
+     */
+    public synchronized void addTask(TaskList taskList, Task task) throws IOException {
+        taskList.addTask(task);
+        recordAdd(taskList, task);
+    }
+
+    /**
+     * Marks the Task at the specified position as done, unless it is done already, and records the change in the
+     * journal before any other change made through this Storage.
+     *
+     * @param taskList the TaskList containing the Task.
+     * @param pos position of the Task in the TaskList.
+     * @return boolean indicating if the Task was marked, which it is not if it was already done.
+     * @throws IOException if the change was made but cannot be saved.
+     */
+    public synchronized boolean setTaskDone(TaskList taskList, int pos) throws IOException {
+        if (!taskList.setTaskDone(pos)) {
+            return false;
+        }
+        recordDone(taskList, pos);
+        return true;
+    }
 
-            File file = new File(filepath);
-            file.getParentFile().mkdirs();
+    /**
+     * Deletes the Task at the specified position, and records the change in the journal before any other change
+     * made through this Storage.
+     *
+     * @param taskList the TaskList to delete the Task from.
+     * @param pos position of the Task in the TaskList.
+     * @throws IOException if the change was made but cannot be saved.
+     */
+    public synchronized void deleteTask(TaskList taskList, int pos) throws IOException {
+        taskList.deleteTask(pos);
+        recordDelete(taskList, pos);
+    }
+
+    /**
+     * Undoes the last change to the TaskList which has not been undone, and saves the whole list before any other
+     * change made through this Storage.
+     *
+     * @param taskList the TaskList to change.
+     * @return boolean indicating if a change was undone, which it is not if there is none to undo.
+     * @throws IOException if the change was made but cannot be saved.
+     */
+    public synchronized boolean undo(TaskList taskList) throws IOException {
+        if (!taskList.undo()) {
+            return false;
+        }
+        writeRestoredToFile(taskList);
+        return true;
+    }
+
+    /**
+     * Makes the last undone change to the TaskList again, and saves the whole list before any other change made
+     * through this Storage.
+     *
+     * @param taskList the TaskList to change.
+     * @return boolean indicating if a change was redone, which it is not if there is none to redo.
+     * @throws IOException if the change was made but cannot be saved.
+     */
+    public synchronized boolean redo(TaskList taskList) throws IOException {
+        if (!taskList.redo()) {
+            return false;
+        }
+        writeRestoredToFile(taskList);
+        return true;
+    }
+
+    /**
+     * Records in the journal that the specified Task was added to the end of the TaskList. No other change may be
+     * made to the TaskList in between; {@link #addTask(TaskList, Task)} makes sure of this.
+     *
+     * @param taskList the TaskList the Task was added to.
+     * @param task the Task added.
+     * @throws IOException if the change cannot be saved.
+     */
+    public synchronized void recordAdd(TaskList taskList, Task task) throws IOException {
+        record(taskList, Journal.addRecord(task));
+    }
+
+    /**
+     * Records in the journal that the Task at the specified position was marked as done. No other change may be
+     * made to the TaskList in between; {@link #setTaskDone(TaskList, int)} makes sure of this.
+     *
+     * @param taskList the TaskList containing the Task.
+     * @param pos position of the Task in the TaskList.
+     * @throws IOException if the change cannot be saved.
+     */
+    public synchronized void recordDone(TaskList taskList, int pos) throws IOException {
+        record(taskList, Journal.doneRecord(pos));
+    }
+
+    /**
+     * Records in the journal that the Task at the specified position was deleted. No other change may be made to
+     * the TaskList in between; {@link #deleteTask(TaskList, int)} makes sure of this.
+     *
+     * @param taskList the TaskList the Task was deleted from.
+     * @param pos position the Task had in the TaskList before it was deleted.
+     * @throws IOException if the change cannot be saved.
+     */
+    public synchronized void recordDelete(TaskList taskList, int pos) throws IOException {
+        record(taskList, Journal.deleteRecord(pos));
+    }
+
+    private void record(TaskList taskList, String record) throws IOException {
+        // The snapshot written when compacting already contains the change being recorded. After a failed append,
+        // the journal may be missing a change or end part way through a record, so only a snapshot can be trusted.
+        boolean isSnapshotNeeded = journalSize >= COMPACTION_THRESHOLD_BYTES || isJournalUnusable;
+
+        if (worker != null) {
+            worker.submitRecord(record, taskList.getList());
+        } else {
+            trackChange(record);
+            if (!isSnapshotNeeded) {
+                appendToJournal(record);
+            }
+        }
+        journalSize += record.length() + 1;
+
+        if (isSnapshotNeeded) {
+            writeToFile(taskList);
+        }
+    }
 
-            FileWriter fileWriter = new FileWriter(file);
-            fileWriter.write(stringToWrite);
-            fileWriter.close();
+    private void appendToJournal(String record) throws IOException {
+        try {
+            journal.append(record);
+        } catch (IOException e) {
+            isJournalUnusable = true;
+            throw e;
         }
     }
 }
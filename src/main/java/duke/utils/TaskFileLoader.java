@@ -0,0 +1,135 @@
+package duke.utils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import duke.dukeexceptions.InvalidFileTaskTypeException;
+import duke.tasks.Task;
+
+/**
+ * Models a utility which decodes a local storage file into Tasks.
+ *
+ * Small files are decoded line by line in a single pass. Larger files are split on line boundaries into chunks
+ * which are decoded in parallel on the common fork-join pool, and the results are joined in their original order.
+ */
+public class TaskFileLoader {
+    private static final long PARALLEL_THRESHOLD_BYTES = 1024 * 1024;
+    private static final int MIN_CHUNK_BYTES = 256 * 1024;
+    private static final int ESTIMATED_BYTES_PER_TASK = 32;
+
+    /**
+     * Returns all Tasks stored in the specified file, in the order they appear in the file. Empty lines are
+     * skipped.
+     *
+     * @param file the local storage file, which must exist.
+     * @return modifiable List of Tasks.
+     * @throws IOException if the file cannot be read.
+     * @throws InvalidFileTaskTypeException if an entry in the file is invalid.
+     */
+    public static List<Task> load(File file) throws IOException, InvalidFileTaskTypeException {
+        if (file.length() < PARALLEL_THRESHOLD_BYTES || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            return loadSequentially(file);
+        }
+        return loadInParallel(file);
+    }
+
+    private static List<Task> loadSequentially(File file) throws IOException, InvalidFileTaskTypeException {
+        List<Task> tasks = new ArrayList<>(estimateTaskCount(file.length()));
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while (line != null) {
+                if (!line.isEmpty()) {
+                    tasks.add(TaskStringConverter.fileStringToTask(line));
+                }
+                line = reader.readLine();
+            }
+        }
+
+        return tasks;
+    }
+
+    private static List<Task> loadInParallel(File file) throws IOException, InvalidFileTaskTypeException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+
+        int chunkCount = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4,
+                bytes.length / MIN_CHUNK_BYTES));
+        List<ForkJoinTask<List<Task>>> chunks = new ArrayList<>(chunkCount);
+
+        int chunkStart = 0;
+        for (int i = 1; i <= chunkCount && chunkStart < bytes.length; i++) {
+            int chunkEnd = i == chunkCount ? bytes.length : endOfLine(bytes, (int) ((long) bytes.length * i
+                    / chunkCount));
+            int start = chunkStart;
+            chunks.add(ForkJoinPool.commonPool().submit(() -> decodeChunk(bytes, start, chunkEnd)));
+            chunkStart = chunkEnd;
+        }
+
+        List<Task> tasks = new ArrayList<>(estimateTaskCount(bytes.length));
+        for (ForkJoinTask<List<Task>> chunk : chunks) {
+            tasks.addAll(joinChunk(chunk));
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the position just after the first line break at or after the specified position.
+     */
+    private static int endOfLine(byte[] bytes, int from) {
+        int pos = from;
+        while (pos < bytes.length && bytes[pos] != '\n') {
+            pos++;
+        }
+        return Math.min(bytes.length, pos + 1);
+    }
+
+    private static List<Task> decodeChunk(byte[] bytes, int start, int end) throws InvalidFileTaskTypeException {
+        List<Task> tasks = new ArrayList<>((end - start) / ESTIMATED_BYTES_PER_TASK + 1);
+
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && bytes[lineEnd] != '\n') {
+                lineEnd++;
+            }
+
+            int contentEnd = lineEnd > lineStart && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            if (contentEnd > lineStart) {
+                String line = new String(bytes, lineStart, contentEnd - lineStart, StandardCharsets.UTF_8);
+                tasks.add(TaskStringConverter.fileStringToTask(line));
+            }
+            lineStart = lineEnd + 1;
+        }
+
+        return tasks;
+    }
+
+    private static List<Task> joinChunk(ForkJoinTask<List<Task>> chunk) throws InvalidFileTaskTypeException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading tasks", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof InvalidFileTaskTypeException) {
+                throw (InvalidFileTaskTypeException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static int estimateTaskCount(long fileSize) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, fileSize / ESTIMATED_BYTES_PER_TASK + 1);
+    }
+}
@@ -0,0 +1,79 @@
+package duke.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Predicate;
+
+import duke.tasks.Task;
+
+/**
+ * Models a utility which selects the Tasks accepted by a predicate, keeping their order.
+ *
+ * Short lists are checked in a single pass. Longer lists are split into chunks which are checked in parallel on the
+ * common fork-join pool, and the results are joined in their original order.
+ */
+public class TaskFilter {
+    private static final int PARALLEL_THRESHOLD = 20_000;
+    private static final int MIN_CHUNK_SIZE = 2_048;
+
+    /**
+     * Returns the Tasks accepted by the predicate, in their original order. The predicate may be called from
+     * several threads at once.
+     *
+     * @param tasks the Tasks to check, which must not be modified while they are checked.
+     * @param isMatch predicate deciding if a Task is selected.
+     * @return List of selected Tasks.
+     */
+    public static List<Task> filter(List<Task> tasks, Predicate<Task> isMatch) {
+        if (tasks.size() < PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            return filterSequentially(tasks, isMatch);
+        }
+        return filterInParallel(tasks, isMatch);
+    }
+
+    /**
+     * Returns the Tasks accepted by the predicate, in their original order, checking them on the current thread.
+     *
+     * @param tasks the Tasks to check.
+     * @param isMatch predicate deciding if a Task is selected.
+     * @return List of selected Tasks.
+     */
+    public static List<Task> filterSequentially(List<Task> tasks, Predicate<Task> isMatch) {
+        List<Task> results = new ArrayList<>();
+        for (Task task : tasks) {
+            if (isMatch.test(task)) {
+                results.add(task);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the Tasks accepted by the predicate, in their original order, checking chunks of the list in
+     * parallel on the common fork-join pool.
+     *
+     * @param tasks the Tasks to check, which must support fast access by position and must not be modified while
+     *     they are checked.
+     * @param isMatch predicate deciding if a Task is selected, which may be called from several threads at once.
+     * @return List of selected Tasks.
+     */
+    public static List<Task> filterInParallel(List<Task> tasks, Predicate<Task> isMatch) {
+        int chunkCount = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4,
+                tasks.size() / MIN_CHUNK_SIZE));
+        List<ForkJoinTask<List<Task>>> chunks = new ArrayList<>(chunkCount);
+
+        for (int i = 0; i < chunkCount; i++) {
+            List<Task> chunk = tasks.subList((int) ((long) tasks.size() * i / chunkCount),
+                    (int) ((long) tasks.size() * (i + 1) / chunkCount));
+            chunks.add(ForkJoinPool.commonPool().submit(() -> filterSequentially(chunk, isMatch)));
+        }
+
+        List<Task> results = new ArrayList<>();
+        for (ForkJoinTask<List<Task>> chunk : chunks) {
+            results.addAll(chunk.join());
+        }
+        return results;
+    }
+}
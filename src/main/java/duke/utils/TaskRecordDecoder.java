@@ -0,0 +1,175 @@
+package duke.utils;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import duke.dukeexceptions.InvalidFileTaskTypeException;
+import duke.tasks.Deadline;
+import duke.tasks.Event;
+import duke.tasks.Task;
+import duke.tasks.ToDo;
+
+/**
+ * Models a decoder which turns one line of the local storage file into a Task.
+ *
+ * Lines have the form {@code T | 0 | description} or {@code D | 1 | description | d/M/yyyy HHmm}, and events with
+ * an end time end with {@code d/M/yyyy HHmm /to d/M/yyyy HHmm}. The decoder reads the type and done flag as single
+ * characters and finds the separators by index, so the description is the only String created for each line. It is
+ * then replaced with an equal description from the shared DescriptionPool, if there is one. Dates in the format
+ * written by this program are parsed digit by digit; only dates in the other accepted formats go through a
+ * DateTimeFormatter.
+ */
+public class TaskRecordDecoder {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("[d/M/yyyy HHmm][d MMM yy HHmm]"
+            + "[dd-MM-yy HHmm]");
+    private static final String SEPARATOR = " | ";
+    private static final String END_SEPARATOR = " /to ";
+    private static final DescriptionPool POOL = DescriptionPool.getShared();
+    private static final int DONE_FLAG_INDEX = 4;
+    private static final int DESCRIPTION_INDEX = 8;
+
+    /**
+     * Returns the Task described by the specified line of the local storage file.
+     *
+     * @param line line of the local storage file.
+     * @return Task described by the line.
+     * @throws InvalidFileTaskTypeException if the line is not a valid task.
+     */
+    public static Task decode(String line) throws InvalidFileTaskTypeException {
+        if (line.length() < DESCRIPTION_INDEX || !line.startsWith(SEPARATOR, 1)
+                || !line.startsWith(SEPARATOR, DONE_FLAG_INDEX + 1)) {
+            throw new InvalidFileTaskTypeException();
+        }
+
+        boolean isDone = decodeDoneFlag(line.charAt(DONE_FLAG_INDEX));
+        Task task;
+
+        switch (line.charAt(0)) {
+        case 'T':
+            task = new ToDo(POOL.intern(line.substring(DESCRIPTION_INDEX)));
+            break;
+
+        case 'E':
+            int eventDateIndex = dateSeparatorIndex(line);
+            int startIndex = eventDateIndex + SEPARATOR.length();
+            int endSeparatorIndex = line.indexOf(END_SEPARATOR, startIndex);
+            String eventDescription = POOL.intern(line.substring(DESCRIPTION_INDEX, eventDateIndex));
+
+            if (endSeparatorIndex < 0) {
+                task = new Event(eventDescription, decodeDateTime(line, startIndex, line.length()));
+            } else {
+                LocalDateTime start = decodeDateTime(line, startIndex, endSeparatorIndex);
+                LocalDateTime end = decodeDateTime(line, endSeparatorIndex + END_SEPARATOR.length(), line.length());
+                if (!end.isAfter(start)) {
+                    throw new InvalidFileTaskTypeException();
+                }
+                task = new Event(eventDescription, start, end);
+            }
+            break;
+
+        case 'D':
+            int deadlineDateIndex = dateSeparatorIndex(line);
+            task = new Deadline(POOL.intern(line.substring(DESCRIPTION_INDEX, deadlineDateIndex)),
+                    decodeDateTime(line, deadlineDateIndex + SEPARATOR.length(), line.length()));
+            break;
+
+        default:
+            throw new InvalidFileTaskTypeException();
+        }
+
+        if (isDone) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    private static boolean decodeDoneFlag(char flag) throws InvalidFileTaskTypeException {
+        switch (flag) {
+        case '1':
+            return true;
+
+        case '0':
+            return false;
+
+        default:
+            throw new InvalidFileTaskTypeException();
+        }
+    }
+
+    private static int dateSeparatorIndex(String line) throws InvalidFileTaskTypeException {
+        int index = line.lastIndexOf(SEPARATOR);
+        if (index < DESCRIPTION_INDEX) {
+            throw new InvalidFileTaskTypeException();
+        }
+        return index;
+    }
+
+    private static LocalDateTime decodeDateTime(String line, int start, int end) throws InvalidFileTaskTypeException {
+        LocalDateTime dateTime = parseFileDateTime(line, start, end);
+        if (dateTime != null) {
+            return dateTime;
+        }
+
+        try {
+            return LocalDateTime.parse(line.substring(start, end), FORMATTER);
+        } catch (DateTimeException e) {
+            throw new InvalidFileTaskTypeException();
+        }
+    }
+
+    /**
+     * Parses a date in the format {@code d/M/yyyy HHmm} which runs from start to end, without allocating.
+     *
+     * @return the date and time, or null if the text is not in exactly this format.
+     */
+    private static LocalDateTime parseFileDateTime(String text, int start, int end) {
+        int pos = start;
+
+        int dayEnd = digitsEnd(text, pos, end);
+        if (dayEnd - pos < 1 || dayEnd - pos > 2 || dayEnd >= end || text.charAt(dayEnd) != '/') {
+            return null;
+        }
+        int day = parseDigits(text, pos, dayEnd);
+        pos = dayEnd + 1;
+
+        int monthEnd = digitsEnd(text, pos, end);
+        if (monthEnd - pos < 1 || monthEnd - pos > 2 || monthEnd >= end || text.charAt(monthEnd) != '/') {
+            return null;
+        }
+        int month = parseDigits(text, pos, monthEnd);
+        pos = monthEnd + 1;
+
+        // Remaining text must be exactly "yyyy HHmm".
+        if (end - pos != 9 || text.charAt(pos + 4) != ' ' || digitsEnd(text, pos, pos + 4) != pos + 4
+                || digitsEnd(text, pos + 5, end) != end) {
+            return null;
+        }
+        int year = parseDigits(text, pos, pos + 4);
+        int hour = parseDigits(text, pos + 5, pos + 7);
+        int minute = parseDigits(text, pos + 7, end);
+
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute);
+        } catch (DateTimeException e) {
+            // Out of range values are left to the formatter, which resolves them the same way as before.
+            return null;
+        }
+    }
+
+    private static int digitsEnd(String text, int start, int end) {
+        int pos = start;
+        while (pos < end && text.charAt(pos) >= '0' && text.charAt(pos) <= '9') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int parseDigits(String text, int start, int end) {
+        int value = 0;
+        for (int pos = start; pos < end; pos++) {
+            value = value * 10 + (text.charAt(pos) - '0');
+        }
+        return value;
+    }
+}
@@ -1,7 +1,5 @@
 package duke.utils;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,9 +14,6 @@ import duke.tasks.ToDo;
  * Models a utility which converts between task and string representations.
  */
 public class TaskStringConverter {
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("[d/M/yyyy HHmm][d MMM yy HHmm]"
-            + "[dd-MM-yy HHmm]");
-
     /**
      * Returns concatenated String description of all Tasks to save to local storage.
      *
@@ -51,7 +46,7 @@ public class TaskStringConverter {
         return result;
     }
 
-    private static String taskToStringFile(Task task) {
+    static String taskToStringFile(Task task) {
         assert task instanceof ToDo || task instanceof Event || task instanceof Deadline;
 
         String done = task.isDone() ? "1" : "0";
@@ -104,6 +99,28 @@ public class TaskStringConverter {
         return stringBuilder.toString();
     }
 
+    /**
+     * Returns concatenated String description of the specified Tasks for display in graphical user interface, each
+     * numbered by its position in the TaskList rather than in the specified list.
+     *
+     * @param list List of Tasks to convert and concatenate.
+     * @param positions position in the TaskList of each Task.
+     * @return String description of the Tasks.
+     */
+    public static String stringTasksForProgram(List<Task> list, List<Integer> positions) {
+        assert list.size() == positions.size();
+
+        StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0; i < list.size(); i++) {
+            stringBuilder.append("\n")
+                    .append(positions.get(i) + 1)
+                    .append(". ")
+                    .append(taskToStringProgram(list.get(i)));
+        }
+
+        return stringBuilder.toString();
+    }
+
     private static List<String> listTaskToListStringProgram(List<Task> list) {
         List<String> result = list.stream()
                 .map(task -> taskToStringProgram(task))
@@ -134,58 +151,7 @@ public class TaskStringConverter {
         return result;
     }
 
-    private static Task fileStringToTask(String input) throws InvalidFileTaskTypeException {
-        String[] splitFileInput = input.split(" \\| ");
-
-        assert splitFileInput.length >= 3;
-
-        char taskType = splitFileInput[0].charAt(0);
-
-        switch (taskType) {
-        case 'T':
-            return generateToDoTask(splitFileInput);
-
-        case 'E':
-            return generateEventTask(splitFileInput);
-
-        case 'D':
-            return generateDeadlineTask(splitFileInput);
-
-        default:
-            throw new InvalidFileTaskTypeException();
-        }
-    }
-
-    private static ToDo generateToDoTask(String[] splitFileInput) {
-        assert splitFileInput.length == 3;
-        ToDo todo = new ToDo(splitFileInput[2]);
-
-        if (splitFileInput[1].equals("1")) {
-            todo.markAsDone();
-        }
-
-        return todo;
-    }
-
-    private static Event generateEventTask(String[] splitFileInput) {
-        assert splitFileInput.length == 4;
-        Event event = new Event(splitFileInput[2], LocalDateTime.parse(splitFileInput[3], FORMATTER));
-
-        if (splitFileInput[1].equals("1")) {
-            event.markAsDone();
-        }
-
-        return event;
-    }
-
-    private static Deadline generateDeadlineTask(String[] splitFileInput) {
-        assert splitFileInput.length == 4;
-        Deadline deadline = new Deadline(splitFileInput[2], LocalDateTime.parse(splitFileInput[3], FORMATTER));
-
-        if (splitFileInput[1].equals("1")) {
-            deadline.markAsDone();
-        }
-
-        return deadline;
+    static Task fileStringToTask(String input) throws InvalidFileTaskTypeException {
+        return TaskRecordDecoder.decode(input);
     }
 }
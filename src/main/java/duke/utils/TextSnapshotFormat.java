@@ -0,0 +1,47 @@
+package duke.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import duke.dukeexceptions.InvalidFileTaskTypeException;
+import duke.tasks.Task;
+
+/**
+ * Models the plain text storage format, with one task per line in the form {@code T | 0 | description}.
+ */
+public class TextSnapshotFormat implements SnapshotFormat {
+    @Override
+    public List<Task> read(File file) throws IOException, InvalidFileTaskTypeException {
+        return TaskFileLoader.load(file);
+    }
+
+    @Override
+    public void write(File file, List<Task> tasks) throws IOException {
+        writeString(file, TaskStringConverter.stringTasksForFile(tasks));
+    }
+
+    /**
+     * Writes the specified String to the specified file in UTF-8, replacing its contents, and forces the file to the
+     * storage device.
+     *
+     * @param file the file to write.
+     * @param stringToWrite the String to write.
+     * @throws IOException if unable to write to file completely.
+     */
+    void writeString(File file, String stringToWrite) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(stringToWrite.getBytes(StandardCharsets.UTF_8));
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+    }
+}
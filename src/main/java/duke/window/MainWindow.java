@@ -1,6 +1,6 @@
 package duke.window;
 
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.Locale;
 
 import duke.Duke;
@@ -57,7 +57,7 @@ public class MainWindow extends AnchorPane {
             dialogContainer.getChildren().addAll(
                     DialogBox.getDukeDialog(introductionMessage, dukeImage)
             );
-        } catch (FileNotFoundException e) {
+        } catch (IOException e) {
             String cannotAccessFileMsg = "Cannot access file at specified location.\n" + e.getMessage();
             dialogContainer.getChildren().addAll(
                     DialogBox.getDukeErrorDialog("Error! " + cannotAccessFileMsg, dukeImage)
@@ -0,0 +1,69 @@
+package duke.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Generates storage files with a realistic mix of tasks for benchmarks.
+ */
+public class BenchmarkFiles {
+    private static final String[] DESCRIPTIONS = {
+        "weekly report", "standup meeting", "read chapter", "submit assignment", "buy groceries",
+        "project meeting with the team", "call mom", "pay bills", "review pull request", "gym"
+    };
+
+    /**
+     * Writes a storage file containing the specified number of todos, deadlines and events.
+     *
+     * @param file path of the file to write.
+     * @param taskCount number of tasks to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void writeTaskFile(Path file, int taskCount) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < taskCount; i++) {
+                writer.write(taskLine(i));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Returns the line in storage file format for the i-th generated task.
+     *
+     * @param i index of the task.
+     * @return line describing the task.
+     */
+    public static String taskLine(int i) {
+        return taskLine(i, DESCRIPTIONS[i % DESCRIPTIONS.length] + " " + i);
+    }
+
+    /**
+     * Returns the line in storage file format for the i-th generated task, whose description is one of a few which
+     * recur throughout the file.
+     *
+     * @param i index of the task.
+     * @return line describing the task.
+     */
+    public static String recurringTaskLine(int i) {
+        return taskLine(i, DESCRIPTIONS[i % DESCRIPTIONS.length]);
+    }
+
+    private static String taskLine(int i, String description) {
+        String done = i % 3 == 0 ? "1" : "0";
+        String date = (i % 28 + 1) + "/" + (i % 12 + 1) + "/" + (2020 + i % 5) + " " + String.format("%02d%02d",
+                i % 24, i % 60);
+
+        switch (i % 3) {
+        case 0:
+            return "T | " + done + " | " + description;
+        case 1:
+            return "D | " + done + " | " + description + " | " + date;
+        default:
+            return "E | " + done + " | " + description + " | " + date;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package duke.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import duke.tasks.Deadline;
+import duke.tasks.Event;
+import duke.tasks.Task;
+import duke.tasks.ToDo;
+import duke.utils.TaskRecordDecoder;
+
+/**
+ * Measures how many storage file lines per second are decoded by the split based decoder that
+ * TaskStringConverter used previously, and by TaskRecordDecoder, and how many bytes each allocates per line.
+ *
+ * The bytes allocated are read from the allocation counter of the current thread, and are compared against
+ * creating only the description of each line, the one String a decoded task needs.
+ *
+ * Run with {@code gradle benchmark -Pbenchmark=DecodeBenchmark}.
+ */
+public class DecodeBenchmark {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("[d/M/yyyy HHmm][d MMM yy HHmm]"
+            + "[dd-MM-yy HHmm]");
+    private static final int LINE_COUNT = 200_000;
+    private static final int RUNS = 10;
+
+    /**
+     * Runs the benchmark and prints the best throughput out of several runs for each decoder.
+     */
+    public static void main(String[] args) throws Exception {
+        String[] lines = new String[LINE_COUNT];
+        for (int i = 0; i < LINE_COUNT; i++) {
+            lines[i] = BenchmarkFiles.taskLine(i);
+        }
+
+        long splitNanos = Long.MAX_VALUE;
+        long decoderNanos = Long.MAX_VALUE;
+        int checksum = 0;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            for (String line : lines) {
+                checksum += decodeWithSplit(line).getDescription().length();
+            }
+            splitNanos = Math.min(splitNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (String line : lines) {
+                checksum += TaskRecordDecoder.decode(line).getDescription().length();
+            }
+            decoderNanos = Math.min(decoderNanos, System.nanoTime() - start);
+        }
+
+        long splitBytes = allocatedBytes();
+        for (String line : lines) {
+            checksum += decodeWithSplit(line).getDescription().length();
+        }
+        splitBytes = allocatedBytes() - splitBytes;
+
+        long decoderBytes = allocatedBytes();
+        for (String line : lines) {
+            checksum += TaskRecordDecoder.decode(line).getDescription().length();
+        }
+        decoderBytes = allocatedBytes() - decoderBytes;
+
+        long descriptionBytes = allocatedBytes();
+        for (String line : lines) {
+            checksum += descriptionOf(line).length();
+        }
+        descriptionBytes = allocatedBytes() - descriptionBytes;
+
+        System.out.printf("split decoder:     %,12.0f lines/s %,8.1f bytes/line%n", LINE_COUNT / (splitNanos / 1e9),
+                (double) splitBytes / LINE_COUNT);
+        System.out.printf("TaskRecordDecoder: %,12.0f lines/s %,8.1f bytes/line%n", LINE_COUNT / (decoderNanos / 1e9),
+                (double) decoderBytes / LINE_COUNT);
+        System.out.printf("description only:  %21s%,8.1f bytes/line%n", "", (double) descriptionBytes / LINE_COUNT);
+        System.out.println("(checksum " + checksum + ")");
+    }
+
+    /**
+     * Returns the number of bytes allocated so far by the current thread.
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Returns the description of the specified line, the text between the second and third separators.
+     */
+    private static String descriptionOf(String line) {
+        int start = line.indexOf(" | ", line.indexOf(" | ") + 3) + 3;
+        int end = line.indexOf(" | ", start);
+        return line.substring(start, end < 0 ? line.length() : end);
+    }
+
+    private static Task decodeWithSplit(String input) {
+        String[] splitFileInput = input.split(" \\| ");
+        Task task;
+
+        switch (splitFileInput[0].charAt(0)) {
+        case 'T':
+            task = new ToDo(splitFileInput[2]);
+            break;
+        case 'E':
+            task = new Event(splitFileInput[2], LocalDateTime.parse(splitFileInput[3], FORMATTER));
+            break;
+        default:
+            task = new Deadline(splitFileInput[2], LocalDateTime.parse(splitFileInput[3], FORMATTER));
+            break;
+        }
+
+        if (splitFileInput[1].equals("1")) {
+            task.markAsDone();
+        }
+        return task;
+    }
+}
@@ -0,0 +1,59 @@
+package duke.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import duke.tasks.Task;
+import duke.tasks.ToDo;
+import duke.utils.TaskFilter;
+
+/**
+ * Compares matching descriptions on one thread and in parallel, for a cheap and an expensive pattern, to show the
+ * list size from which parallel matching pays off.
+ *
+ * Run with {@code gradle benchmark -Pbenchmark=FindBenchmark}.
+ */
+public class FindBenchmark {
+    private static final int[] TASK_COUNTS = {1_000, 5_000, 20_000, 100_000, 1_000_000};
+    private static final String[] PATTERNS = {"meeting", "(\\w+\\s?)+ing \\d*7$"};
+    private static final int RUNS = 5;
+
+    /**
+     * Runs the benchmark and prints the best time out of several runs for each pattern and list size.
+     */
+    public static void main(String[] args) {
+        System.out.println("Common pool parallelism: " + ForkJoinPool.getCommonPoolParallelism());
+
+        for (int taskCount : TASK_COUNTS) {
+            List<Task> tasks = new ArrayList<>(taskCount);
+            for (int i = 0; i < taskCount; i++) {
+                tasks.add(new ToDo(BenchmarkFiles.taskLine(i).split(" \\| ")[2]));
+            }
+
+            for (String regex : PATTERNS) {
+                Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+                Predicate<Task> isMatch = task -> pattern.matcher(task.getDescription()).find();
+
+                long sequentialNanos = Long.MAX_VALUE;
+                long parallelNanos = Long.MAX_VALUE;
+                for (int run = 0; run < RUNS; run++) {
+                    long start = System.nanoTime();
+                    int sequentialCount = TaskFilter.filterSequentially(tasks, isMatch).size();
+                    sequentialNanos = Math.min(sequentialNanos, System.nanoTime() - start);
+
+                    start = System.nanoTime();
+                    int parallelCount = TaskFilter.filterInParallel(tasks, isMatch).size();
+                    parallelNanos = Math.min(parallelNanos, System.nanoTime() - start);
+
+                    assert sequentialCount == parallelCount;
+                }
+
+                System.out.printf("%,9d tasks %-22s sequential %8.2f ms, parallel %8.2f ms%n", taskCount, regex,
+                        sequentialNanos / 1e6, parallelNanos / 1e6);
+            }
+        }
+    }
+}
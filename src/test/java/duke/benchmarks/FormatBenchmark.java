@@ -0,0 +1,63 @@
+package duke.benchmarks;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import duke.tasks.Task;
+import duke.utils.BinarySnapshotFormat;
+import duke.utils.GzipSnapshotFormat;
+import duke.utils.SnapshotFormat;
+import duke.utils.TextSnapshotFormat;
+
+/**
+ * Compares the save time, load time and file size of each storage format for 100k and 1M tasks.
+ *
+ * Run with {@code gradle benchmark -Pbenchmark=FormatBenchmark}.
+ */
+public class FormatBenchmark {
+    private static final int[] TASK_COUNTS = {100_000, 1_000_000};
+    private static final int RUNS = 5;
+    private static final Map<String, SnapshotFormat> FORMATS = Map.of(
+            "text", new TextSnapshotFormat(),
+            "binary", new BinarySnapshotFormat(),
+            "gzip", new GzipSnapshotFormat()
+    );
+
+    /**
+     * Runs the benchmark and prints the best times out of several runs for each format and size.
+     */
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("duke-format-benchmark");
+
+        for (int taskCount : TASK_COUNTS) {
+            Path source = dir.resolve("source-" + taskCount + ".txt");
+            BenchmarkFiles.writeTaskFile(source, taskCount);
+            List<Task> tasks = new TextSnapshotFormat().read(source.toFile());
+
+            for (Map.Entry<String, SnapshotFormat> entry : FORMATS.entrySet()) {
+                File file = dir.resolve(entry.getKey() + "-" + taskCount).toFile();
+                SnapshotFormat format = entry.getValue();
+
+                long saveNanos = Long.MAX_VALUE;
+                long loadNanos = Long.MAX_VALUE;
+                for (int run = 0; run < RUNS; run++) {
+                    long start = System.nanoTime();
+                    format.write(file, tasks);
+                    saveNanos = Math.min(saveNanos, System.nanoTime() - start);
+
+                    start = System.nanoTime();
+                    int loaded = format.read(file).size();
+                    loadNanos = Math.min(loadNanos, System.nanoTime() - start);
+
+                    assert loaded == taskCount;
+                }
+
+                System.out.printf("%,9d tasks %-10s save %8.1f ms, load %8.1f ms, size %,8d KiB%n", taskCount,
+                        entry.getKey(), saveNanos / 1e6, loadNanos / 1e6, file.length() / 1024);
+            }
+        }
+    }
+}
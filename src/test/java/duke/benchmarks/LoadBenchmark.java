@@ -0,0 +1,66 @@
+package duke.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+import duke.tasks.Task;
+import duke.tasks.TaskList;
+import duke.utils.Storage;
+import duke.utils.TaskStringConverter;
+
+/**
+ * Measures the time taken to load storage files of 10k, 100k and 1M tasks, using the Scanner based loader that
+ * Storage used previously and the current Storage loader.
+ *
+ * Run with {@code gradle benchmark -Pbenchmark=LoadBenchmark}.
+ */
+public class LoadBenchmark {
+    private static final int[] TASK_COUNTS = {10_000, 100_000, 1_000_000};
+    private static final int RUNS = 5;
+
+    /**
+     * Runs the benchmark and prints the best time out of several runs for each file size.
+     */
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("duke-load-benchmark");
+
+        for (int taskCount : TASK_COUNTS) {
+            Path file = dir.resolve("tasks-" + taskCount + ".txt");
+            BenchmarkFiles.writeTaskFile(file, taskCount);
+
+            long scannerNanos = Long.MAX_VALUE;
+            long storageNanos = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                int scannerSize = loadWithScanner(file.toFile()).getList().size();
+                scannerNanos = Math.min(scannerNanos, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                int storageSize = new Storage(file.toString()).loadFromFile().getList().size();
+                storageNanos = Math.min(storageNanos, System.nanoTime() - start);
+
+                assert scannerSize == taskCount && storageSize == taskCount;
+            }
+
+            System.out.printf("%,9d tasks (%,6d KiB): Scanner %8.1f ms, Storage %8.1f ms%n", taskCount,
+                    Files.size(file) / 1024, scannerNanos / 1e6, storageNanos / 1e6);
+        }
+    }
+
+    private static TaskList loadWithScanner(File file) throws Exception {
+        List<String> txtInput = new ArrayList<>();
+        Scanner scannerFile = new Scanner(file);
+        while (scannerFile.hasNextLine()) {
+            txtInput.add(scannerFile.nextLine());
+        }
+        scannerFile.close();
+
+        List<Task> convertedTaskList = TaskStringConverter.listStringToListTask(txtInput);
+        return new TaskList(new ArrayList<>(convertedTaskList));
+    }
+}
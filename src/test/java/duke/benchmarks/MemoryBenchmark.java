@@ -0,0 +1,66 @@
+package duke.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.dukeexceptions.InvalidFileTaskTypeException;
+import duke.tasks.Task;
+import duke.tasks.TaskList;
+import duke.utils.DescriptionPool;
+import duke.utils.TaskStringConverter;
+
+/**
+ * Measures the heap used per task by a TaskList of 1M tasks, keeping the tasks as objects and in columns, and by 1M
+ * decoded tasks with recurring descriptions, which share equal descriptions through the DescriptionPool.
+ *
+ * Run with {@code gradle benchmark -Pbenchmark=MemoryBenchmark}.
+ */
+public class MemoryBenchmark {
+    private static final int TASK_COUNT = 1_000_000;
+
+    /**
+     * Runs the benchmark and prints the heap used per task for each way of keeping the tasks.
+     */
+    public static void main(String[] args) throws Exception {
+        for (boolean isStoredInColumns : new boolean[] {false, true}) {
+            long before = usedHeap();
+            TaskList taskList = new TaskList(generateTasks(), isStoredInColumns);
+            long after = usedHeap();
+
+            System.out.printf("%-8s %,6.1f bytes per task%n", isStoredInColumns ? "columns" : "objects",
+                    (after - before) / (double) TASK_COUNT);
+            assert taskList.getList().size() == TASK_COUNT;
+        }
+
+        List<String> lines = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            lines.add(BenchmarkFiles.recurringTaskLine(i));
+        }
+        long savedBefore = DescriptionPool.getShared().getBytesSaved();
+        long before = usedHeap();
+        List<Task> pooled = TaskStringConverter.listStringToListTask(lines);
+        long after = usedHeap();
+        long saved = DescriptionPool.getShared().getBytesSaved() - savedBefore;
+
+        System.out.printf("pooled   %,6.1f bytes per task, %,6.1f bytes per task saved by the pool%n",
+                (after - before) / (double) TASK_COUNT, saved / (double) TASK_COUNT);
+        assert pooled.size() == lines.size();
+    }
+
+    private static List<Task> generateTasks() throws InvalidFileTaskTypeException {
+        List<String> lines = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            lines.add(BenchmarkFiles.taskLine(i));
+        }
+        return TaskStringConverter.listStringToListTask(lines);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,49 @@
+package duke.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import duke.tasks.TaskList;
+import duke.tasks.ToDo;
+
+public class FindCommandTest {
+    private static TaskList createTaskList(String... descriptions) {
+        TaskList taskList = new TaskList();
+        for (String description : descriptions) {
+            taskList.addTask(new ToDo(description));
+        }
+        return taskList;
+    }
+
+    @Test
+    public void execute_plainText_matchesIgnoringAsciiCase() {
+        TaskList taskList = createTaskList("Read BOOK", "caf\u00c9", "gym");
+
+        assertEquals("These are the search results:\n1. [T][ ] Read BOOK",
+                new FindCommand(taskList, null, "ad bo").execute());
+        assertEquals("There are no tasks matching your input :(",
+                new FindCommand(taskList, null, "caf\u00e9").execute());
+    }
+
+    @Test
+    public void execute_invalidPattern_errorMessage() {
+        String result = new FindCommand(createTaskList("read book"), null, "book(").execute();
+
+        assertTrue(result.startsWith("Sorry, I don't understand this search pattern"));
+    }
+
+    @Test
+    public void execute_catastrophicPattern_stoppedWithPartialResults() {
+        String twelveAs = "aaaaaaaaaaaa";
+        TaskList taskList = createTaskList(twelveAs, "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa!", twelveAs);
+
+        long start = System.nanoTime();
+        String result = new FindCommand(taskList, null, "(.*a){12}$", 100).execute();
+
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        assertTrue(result.startsWith("These are the search results:\n1. [T][ ] " + twelveAs + "\n"));
+        assertTrue(result.endsWith("some matching tasks may be missing."));
+    }
+}
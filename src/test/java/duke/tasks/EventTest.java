@@ -2,6 +2,8 @@ package duke.tasks;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.time.LocalDateTime;
+
 import org.junit.jupiter.api.Test;
 
 public class EventTest {
@@ -11,4 +13,24 @@ public class EventTest {
         assertEquals("[E][ ] meeting friends (at: 01 Feb 2021, 6:00 PM)",
                 e.toString());
     }
+
+    @Test
+    public void toString_withEnd() {
+        Event e = new Event("meeting friends", LocalDateTime.of(2021, 2, 1, 18, 0),
+                LocalDateTime.of(2021, 2, 1, 20, 30));
+        assertEquals("[E][ ] meeting friends (at: 01 Feb 2021, 6:00 PM to 01 Feb 2021, 8:30 PM)", e.toString());
+        assertEquals("1/2/2021 1800 /to 1/2/2021 2030", e.getDateForFile());
+    }
+
+    @Test
+    public void overlaps_endIsExclusive() {
+        Event meeting = new Event("meeting", LocalDateTime.of(2021, 2, 1, 9, 0), LocalDateTime.of(2021, 2, 1, 10, 0));
+        Event call = new Event("call", LocalDateTime.of(2021, 2, 1, 10, 0));
+        Event lunch = new Event("lunch", LocalDateTime.of(2021, 2, 1, 9, 59), LocalDateTime.of(2021, 2, 1, 11, 0));
+
+        assertEquals(false, meeting.overlaps(call));
+        assertEquals(true, meeting.overlaps(lunch));
+        assertEquals(true, lunch.overlaps(call));
+        assertEquals(true, call.overlaps(new Event("call again", LocalDateTime.of(2021, 2, 1, 10, 0))));
+    }
 }
@@ -0,0 +1,211 @@
+package duke.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IndexedTaskListTest {
+    @Test
+    public void randomChanges_sameAsArrayList() {
+        Random random = new Random(13);
+        List<Task> initial = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            initial.add(new ToDo("task " + i));
+        }
+        List<Task> expected = new ArrayList<>(initial);
+        List<Integer> expectedIds = new ArrayList<>();
+        for (int i = 0; i < initial.size(); i++) {
+            expectedIds.add(i);
+        }
+        IndexedTaskList list = new IndexedTaskList(initial);
+
+        for (int i = 0; i < 5000; i++) {
+            int op = random.nextInt(3);
+            if (op == 0 || expected.isEmpty()) {
+                int pos = random.nextInt(expected.size() + 1);
+                Task task = new ToDo("added " + i);
+                list.add(pos, task);
+                expected.add(pos, task);
+                expectedIds.add(pos, list.idAt(pos));
+            } else if (op == 1) {
+                int pos = random.nextInt(expected.size());
+                assertEquals(expected.remove(pos), list.remove(pos));
+                int id = expectedIds.remove(pos);
+                assertNull(list.getById(id));
+                assertEquals(-1, list.positionOf(id));
+            } else {
+                int pos = random.nextInt(expected.size());
+                Task task = new ToDo("set " + i);
+                assertEquals(expected.set(pos, task), list.set(pos, task));
+            }
+        }
+
+        assertEquals(expected, list);
+        assertEquals(expected, new ArrayList<>(list));
+        for (int pos = 0; pos < expected.size(); pos++) {
+            int id = expectedIds.get(pos);
+            assertEquals(id, list.idAt(pos));
+            assertEquals(pos, list.positionOf(id));
+            assertEquals(expected.get(pos), list.getById(id));
+        }
+    }
+
+    @Test
+    public void snapshot_laterChanges_notSeen() {
+        IndexedTaskList list = new IndexedTaskList();
+        for (int i = 0; i < 10; i++) {
+            list.add(new ToDo("task " + i));
+        }
+        IndexedTaskList.Snapshot before = list.snapshot();
+        List<Task> expected = new ArrayList<>(list);
+
+        // Adding at the same position again and again leaves no labels between its neighbours.
+        for (int i = 0; i < 200; i++) {
+            list.add(1, new ToDo("added " + i));
+        }
+        list.remove(0);
+        list.set(0, new ToDo("replaced"));
+
+        assertEquals(expected, before);
+        for (int pos = 0; pos < expected.size(); pos++) {
+            assertEquals(pos, before.positionOf(before.idAt(pos)));
+        }
+        assertEquals(-1, before.positionOf(10));
+        assertEquals(209, list.size());
+        assertEquals("replaced", list.get(0).getDescription());
+        assertEquals("added 0", list.get(199).getDescription());
+        for (int pos = 0; pos < list.size(); pos++) {
+            assertEquals(pos, list.positionOf(list.idAt(pos)));
+        }
+        assertNull(list.getById(0));
+    }
+
+    @Test
+    public void restore_getById_sameAsSnapshot() {
+        Random random = new Random(19);
+        IndexedTaskList list = new IndexedTaskList();
+        List<IndexedTaskList.Snapshot> versions = new ArrayList<>();
+        versions.add(list.snapshot());
+
+        for (int i = 0; i < 3000; i++) {
+            int op = random.nextInt(5);
+            if (op == 0 || list.isEmpty()) {
+                list.add(random.nextInt(list.size() + 1), new ToDo("added " + i));
+            } else if (op == 1) {
+                list.remove(random.nextInt(list.size()));
+            } else if (op == 2) {
+                list.set(random.nextInt(list.size()), new ToDo("set " + i));
+            } else {
+                // Versions next to each other are mostly one change apart, as with undo and redo.
+                int version = versions.indexOf(list.snapshot());
+                int target = op == 3 ? version + (random.nextBoolean() ? 1 : -1) : random.nextInt(versions.size());
+                if (target >= 0 && target < versions.size()) {
+                    list.restore(versions.get(target));
+                }
+
+                IndexedTaskList.Snapshot snapshot = list.snapshot();
+                for (int id = -1; id <= i; id++) {
+                    assertEquals(snapshot.getById(id), list.getById(id));
+                }
+                continue;
+            }
+            versions.add(list.snapshot());
+        }
+    }
+
+    @Test
+    public void construct_otherList_readOnAccess() {
+        int[] reads = new int[1];
+        List<Task> source = new AbstractList<>() {
+            @Override
+            public Task get(int index) {
+                reads[0]++;
+                return new ToDo("task " + index);
+            }
+
+            @Override
+            public int size() {
+                return 100_000;
+            }
+        };
+
+        IndexedTaskList list = new IndexedTaskList(source);
+        list.set(5, new ToDo("replaced"));
+        list.remove(0);
+
+        assertEquals(100_000 - 1, list.size());
+        assertEquals("task 1", list.get(0).getDescription());
+        assertEquals("replaced", list.get(4).getDescription());
+        assertEquals(3, reads[0]);
+    }
+
+    @Test
+    public void columnarStore_randomChanges_sameTasks() {
+        Random random = new Random(17);
+        LocalDateTime base = LocalDateTime.of(2021, 3, 1, 9, 0);
+        List<Task> initial = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            initial.add(randomTask(random, base, i));
+        }
+        List<Task> expected = new ArrayList<>(initial);
+        IndexedTaskList list = new IndexedTaskList(new ColumnarTaskStore(initial), initial.size());
+
+        for (int i = 0; i < 5000; i++) {
+            int op = random.nextInt(3);
+            if (op == 0 || expected.isEmpty()) {
+                int pos = random.nextInt(expected.size() + 1);
+                Task task = randomTask(random, base, i);
+                list.add(pos, task);
+                expected.add(pos, task.copy());
+            } else if (op == 1) {
+                int pos = random.nextInt(expected.size());
+                assertEquals(expected.remove(pos).toString(), list.remove(pos).toString());
+            } else {
+                int pos = random.nextInt(expected.size());
+                Task task = list.get(pos);
+                if (!task.isDone()) {
+                    task.markAsDone();
+                    list.set(pos, task);
+                    expected.get(pos).markAsDone();
+                }
+            }
+        }
+
+        assertEquals(expected.size(), list.size());
+        for (int pos = 0; pos < expected.size(); pos++) {
+            assertEquals(expected.get(pos).toString(), list.get(pos).toString());
+            assertEquals(expected.get(pos).getClass(), list.get(pos).getClass());
+        }
+    }
+
+    private static Task randomTask(Random random, LocalDateTime base, int i) {
+        String description = "task " + i + " \u00e9".repeat(random.nextInt(3));
+        LocalDateTime date = base.plusMinutes(random.nextInt(100_000));
+        Task task;
+        switch (random.nextInt(4)) {
+        case 0:
+            task = new ToDo(description);
+            break;
+        case 1:
+            task = new Deadline(description, date);
+            break;
+        case 2:
+            task = new Event(description, date);
+            break;
+        default:
+            task = new Event(description, date, date.plusMinutes(1 + random.nextInt(500)));
+            break;
+        }
+        if (random.nextInt(3) == 0) {
+            task.markAsDone();
+        }
+        return task;
+    }
+}
@@ -0,0 +1,648 @@
+package duke.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskListTest {
+    private static List<String> search(TaskList taskList, String query) {
+        Pattern pattern = Pattern.compile(query, Pattern.CASE_INSENSITIVE);
+        List<String> descriptions = new ArrayList<>();
+        for (Task task : taskList.searchDescriptions(query, description -> pattern.matcher(description).find())) {
+            descriptions.add(task.getDescription());
+        }
+        return descriptions;
+    }
+
+    @Test
+    public void searchDescriptions_plainText_sameAsScan() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("read books"));
+        taskList.addTask(new ToDo("return book to library"));
+        taskList.addTask(new ToDo("Bookkeeping"));
+        taskList.addTask(new ToDo("write report"));
+
+        assertEquals(List.of("read books", "return book to library", "Bookkeeping"), search(taskList, "book"));
+        assertEquals(List.of("read books", "return book to library", "Bookkeeping", "write report"),
+                search(taskList, "E"));
+        assertEquals(List.of("Bookkeeping"), search(taskList, "Kkee"));
+        assertEquals(List.of("return book to library"), search(taskList, "rn book to lib"));
+        assertEquals(List.of(), search(taskList, "book report"));
+        assertEquals(List.of("read books", "write report"), search(taskList, "re.d|rep"));
+    }
+
+    @Test
+    public void storedInColumns_changesKept() {
+        TaskList taskList = new TaskList(new ArrayList<>(List.of(new ToDo("buy milk"),
+                new Deadline("essay", LocalDateTime.of(2021, 3, 5, 23, 59)))), true);
+
+        taskList.setTaskDone(1);
+        taskList.addTask(new Event("party", LocalDateTime.of(2021, 3, 1, 18, 0), LocalDateTime.of(2021, 3, 1, 23, 0)));
+        taskList.deleteTask(0);
+
+        assertEquals("[D][X] essay (by: 05 Mar 2021, 11:59 PM)", taskList.getList().get(0).toString());
+        assertEquals("[E][ ] party (at: 01 Mar 2021, 6:00 PM to 01 Mar 2021, 11:00 PM)",
+                taskList.getTaskById(2).toString());
+        assertEquals(List.of("party"), search(taskList, "part"));
+    }
+
+    @Test
+    public void searchDescriptions_afterChanges_indexUpdated() {
+        TaskList taskList = new TaskList(new ArrayList<>(List.of(new ToDo("buy milk"), new ToDo("buy eggs"))));
+        assertEquals(List.of("buy milk", "buy eggs"), search(taskList, "buy"));
+
+        taskList.deleteTask(0);
+        taskList.addTask(new ToDo("buy bread"));
+        taskList.setTaskDone(0);
+
+        assertEquals(List.of("buy eggs", "buy bread"), search(taskList, "buy"));
+        assertEquals(List.of(), search(taskList, "milk"));
+        assertEquals(List.of("buy bread"), search(taskList, "BREAD"));
+    }
+
+    @Test
+    public void searchDescriptions_randomQueries_sameAsScan() {
+        String[] pieces = {"book", "Read", "re", "ad ", "o", ".", "\\.", "[ab]", "(ok|ee)", "s?", "k+", "x*", "a{2}",
+            "|", "^", "$", "\\d", "\u00e9", "\uD83D\uDE00", " ", "\\x41", "\\x{e9}", "\\u0041", "\\0101", "\\cA",
+            "\\p{L}", "\\pL", "\\N{LATIN SMALL LETTER E WITH ACUTE}", "bc"};
+        String[] descriptions = {"read books", "Read a book.", "return book 2", "reed", "booook", "bo ok", "aab",
+            "caf\u00e9 read", "smile \uD83D\uDE00 read", "BOOKKEEPING", "xAbc", "abc book", "caf\u00e9bc"};
+
+        TaskList taskList = new TaskList();
+        for (String description : descriptions) {
+            taskList.addTask(new ToDo(description));
+        }
+
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder query = new StringBuilder();
+            int pieceCount = 1 + random.nextInt(4);
+            for (int j = 0; j < pieceCount; j++) {
+                query.append(pieces[random.nextInt(pieces.length)]);
+            }
+
+            Pattern pattern = Pattern.compile(query.toString(), Pattern.CASE_INSENSITIVE);
+            List<String> expected = new ArrayList<>();
+            for (Task task : taskList.getList()) {
+                if (pattern.matcher(task.getDescription()).find()) {
+                    expected.add(task.getDescription());
+                }
+            }
+            assertEquals(expected, search(taskList, query.toString()), query.toString());
+        }
+    }
+
+    @Test
+    public void searchRanked_rareAndRepeatedWordsFirst() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("weekly report"));
+        taskList.addTask(new ToDo("budget report for the whole project team"));
+        taskList.addTask(new ToDo("budget"));
+        taskList.addTask(new ToDo("report"));
+        taskList.addTask(new ToDo("Report budget, budget REPORT"));
+        taskList.addTask(new ToDo("gym"));
+
+        List<Task> top = taskList.searchRanked("report budget", 3);
+
+        assertEquals(3, top.size());
+        assertEquals("Report budget, budget REPORT", top.get(0).getDescription());
+        assertEquals("budget", top.get(1).getDescription());
+        assertEquals("budget report for the whole project team", top.get(2).getDescription());
+        assertEquals(5, taskList.searchRanked("report budget", 10).size());
+        assertEquals(List.of(), taskList.searchRanked("holiday", 10));
+    }
+
+    @Test
+    public void searchRanked_afterChanges_indexUpdated() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("call mom"));
+        assertEquals(1, taskList.searchRanked("mom", 5).size());
+
+        taskList.addTask(new ToDo("visit mom mom"));
+        taskList.deleteTask(0);
+
+        List<Task> top = taskList.searchRanked("mom", 5);
+        assertEquals(1, top.size());
+        assertEquals("visit mom mom", top.get(0).getDescription());
+    }
+
+    @Test
+    public void searchSimilar_typos_found() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("standup meeting"));
+        taskList.addTask(new ToDo("Project Meetings"));
+        taskList.addTask(new ToDo("call mom"));
+        taskList.addTask(new ToDo("meet tom"));
+
+        assertEquals(2, taskList.searchSimilar("meting").size());
+        assertEquals(1, taskList.searchSimilar("mon").size());
+        assertEquals("Project Meetings", taskList.searchSimilar("projct meting").get(0).getDescription());
+        assertEquals(List.of(), taskList.searchSimilar("budget"));
+
+        taskList.deleteTask(0);
+        assertEquals(1, taskList.searchSimilar("meting").size());
+    }
+
+    @Test
+    public void searchSimilar_sameAsBruteForce() {
+        Random random = new Random(3);
+        TaskList taskList = new TaskList();
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 2 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(4)));
+            }
+            words.add(word.toString());
+            taskList.addTask(new ToDo(word.toString()));
+        }
+        for (int i = 0; i < 1000; i++) {
+            taskList.deleteTask(random.nextInt(taskList.getList().size()));
+        }
+
+        for (String query : List.of("abc", "abcd", "dddda", "aaaaaaa", "bcbcb")) {
+            int maxDistance = query.length() <= 4 ? 1 : 2;
+            long expected = taskList.getList().stream()
+                    .filter(task -> BkTree.editDistance(task.getDescription(), query, 10) <= maxDistance)
+                    .count();
+            assertEquals(expected, (long) taskList.searchSimilar(query).size(), query);
+        }
+    }
+
+    @Test
+    public void getTasksDue_rangesOrderedByDate() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Deadline("essay", LocalDateTime.of(2021, 3, 5, 23, 59)));
+        taskList.addTask(new ToDo("read"));
+        taskList.addTask(new Event("party", LocalDateTime.of(2021, 3, 1, 18, 0)));
+        taskList.addTask(new Deadline("quiz", LocalDateTime.of(2021, 3, 1, 18, 0)));
+        taskList.addTask(new Deadline("tax", LocalDateTime.of(2021, 4, 30, 12, 0)));
+
+        assertEquals(List.of("party", "quiz", "essay"), descriptions(
+                taskList.getTasksDueBefore(LocalDateTime.of(2021, 3, 6, 0, 0))));
+        assertEquals(List.of("party", "quiz"), descriptions(
+                taskList.getTasksDueBefore(LocalDateTime.of(2021, 3, 5, 23, 59))));
+        assertEquals(List.of("essay", "tax"), descriptions(taskList.getTasksDueBetween(
+                LocalDateTime.of(2021, 3, 5, 23, 59), LocalDateTime.of(2021, 4, 30, 12, 0))));
+        assertEquals(List.of("party", "quiz"), descriptions(taskList.getTasksDueBetween(
+                LocalDateTime.of(2021, 3, 1, 18, 0), LocalDateTime.of(2021, 3, 1, 18, 0))));
+        assertEquals(List.of(), taskList.getTasksDueBetween(
+                LocalDateTime.of(2021, 3, 7, 0, 0), LocalDateTime.of(2021, 3, 1, 0, 0)));
+
+        taskList.deleteTask(2);
+        taskList.setTaskDone(2);
+        taskList.addTask(new Deadline("report", LocalDateTime.of(2021, 2, 1, 9, 0)));
+
+        assertEquals(List.of("report", "essay"), descriptions(
+                taskList.getOverdueTasks(LocalDateTime.of(2021, 4, 1, 0, 0))));
+    }
+
+    @Test
+    public void getClashingEvents_overlappingEventsOnly() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Event("meeting", LocalDateTime.of(2021, 3, 1, 9, 0), LocalDateTime.of(2021, 3, 1, 10, 0)));
+        taskList.addTask(new Deadline("essay", LocalDateTime.of(2021, 3, 1, 9, 30)));
+        taskList.addTask(new Event("trip", LocalDateTime.of(2021, 2, 27, 8, 0), LocalDateTime.of(2021, 3, 2, 8, 0)));
+        taskList.addTask(new Event("call", LocalDateTime.of(2021, 3, 1, 10, 0)));
+
+        assertEquals(List.of("trip", "meeting"), descriptions(taskList.getClashingEvents(
+                new Event("standup", LocalDateTime.of(2021, 3, 1, 9, 45), LocalDateTime.of(2021, 3, 1, 10, 0)))));
+        assertEquals(List.of("trip", "call"), descriptions(taskList.getClashingEvents(
+                new Event("dinner", LocalDateTime.of(2021, 3, 1, 10, 0)))));
+
+        taskList.deleteTask(2);
+        assertEquals(List.of(), descriptions(taskList.getClashingEvents(
+                new Event("dinner", LocalDateTime.of(2021, 3, 1, 18, 0)))));
+    }
+
+    @Test
+    public void getAllClashes_sameAsComparingEveryPair() {
+        Random random = new Random(11);
+        TaskList taskList = new TaskList();
+        LocalDateTime base = LocalDateTime.of(2021, 1, 1, 0, 0);
+        for (int i = 0; i < 600; i++) {
+            LocalDateTime start = base.plusMinutes(15L * random.nextInt(2000));
+            if (random.nextInt(4) == 0) {
+                taskList.addTask(new Event("event " + i, start));
+            } else if (random.nextInt(6) == 0) {
+                taskList.addTask(new ToDo("todo " + i));
+            } else {
+                taskList.addTask(new Event("event " + i, start, start.plusMinutes(15L * (1 + random.nextInt(40)))));
+            }
+        }
+        taskList.getAllClashes();
+        for (int i = 0; i < 200; i++) {
+            taskList.deleteTask(random.nextInt(taskList.getList().size()));
+        }
+
+        List<Task> tasks = taskList.getList();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            for (int j = i + 1; j < tasks.size(); j++) {
+                if (tasks.get(i) instanceof Event && tasks.get(j) instanceof Event
+                        && ((Event) tasks.get(i)).overlaps((Event) tasks.get(j))) {
+                    expected.add(pairKey(tasks.get(i), tasks.get(j)));
+                }
+            }
+        }
+        List<String> actual = new ArrayList<>();
+        for (List<Task> pair : taskList.getAllClashes()) {
+            Event first = (Event) pair.get(0);
+            Event second = (Event) pair.get(1);
+            assertEquals(true, !first.getLocalDateTime().isAfter(second.getLocalDateTime()));
+            actual.add(pairKey(first, second));
+        }
+        expected.sort(null);
+        actual.sort(null);
+
+        assertEquals(expected, actual);
+        for (Task task : tasks) {
+            if (task instanceof Event) {
+                long clashCount = tasks.stream()
+                        .filter(other -> other != task && other instanceof Event)
+                        .filter(other -> ((Event) task).overlaps((Event) other))
+                        .count();
+                assertEquals(clashCount, (long) taskList.getClashingEvents((Event) task).size());
+            }
+        }
+    }
+
+    @Test
+    public void getPositionsWith_sameAsCheckingEveryTask() {
+        Random random = new Random(5);
+        TaskList taskList = new TaskList();
+        LocalDateTime date = LocalDateTime.of(2021, 3, 1, 9, 0);
+        for (int i = 0; i < 700; i++) {
+            int type = random.nextInt(3);
+            Task task = type == 0 ? new ToDo("todo")
+                    : type == 1 ? new Deadline("deadline", date)
+                    : new Event("event", date);
+            if (random.nextInt(3) == 0) {
+                task.markAsDone();
+            }
+            taskList.addTask(task);
+        }
+        taskList.getPositionsWith(EnumSet.of(TaskAttribute.DONE));
+        for (int i = 0; i < 300; i++) {
+            int pos = random.nextInt(taskList.getList().size());
+            if (random.nextBoolean()) {
+                taskList.deleteTask(pos);
+            } else if (!taskList.getList().get(pos).isDone()) {
+                taskList.setTaskDone(pos);
+            }
+        }
+
+        List<EnumSet<TaskAttribute>> filters = List.of(EnumSet.noneOf(TaskAttribute.class),
+                EnumSet.of(TaskAttribute.PENDING), EnumSet.of(TaskAttribute.DONE, TaskAttribute.PENDING),
+                EnumSet.of(TaskAttribute.DEADLINE), EnumSet.of(TaskAttribute.DONE, TaskAttribute.EVENT),
+                EnumSet.of(TaskAttribute.PENDING, TaskAttribute.TODO, TaskAttribute.DEADLINE));
+        for (EnumSet<TaskAttribute> filter : filters) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < taskList.getList().size(); i++) {
+                if (hasAttributes(taskList.getList().get(i), filter)) {
+                    expected.add(i);
+                }
+            }
+            assertEquals(expected, taskList.getPositionsWith(filter), filter.toString());
+        }
+    }
+
+    @Test
+    public void indexes_manyAddsAndDeletes_sameAsFreshIndexes() {
+        Random random = new Random(13);
+        String[] words = {"report", "budget", "call", "mom", "gym", "essay"};
+        LocalDateTime base = LocalDateTime.of(2021, 3, 1, 9, 0);
+        TaskList taskList = new TaskList();
+        taskList.getPositionsWith(EnumSet.of(TaskAttribute.DONE));
+        search(taskList, "report");
+        search(taskList, "port|get");
+        taskList.searchRanked("report", 1);
+        taskList.getTasksDueBefore(base);
+        taskList.getAllClashes();
+
+        // Deletes slightly outnumber adds, so deleted tasks pile up until the indexes give out keys afresh.
+        for (int i = 0; i < 5000; i++) {
+            int size = taskList.getList().size();
+            if (size > 0 && random.nextInt(100) < 52) {
+                taskList.deleteTask(random.nextInt(size));
+                continue;
+            }
+
+            String description = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+            LocalDateTime date = base.plusHours(random.nextInt(100));
+            int type = random.nextInt(3);
+            taskList.addTask(type == 0 ? new ToDo(description)
+                    : type == 1 ? new Deadline(description, date)
+                    : new Event(description, date, date.plusHours(1 + random.nextInt(3))));
+            if (random.nextInt(4) == 0) {
+                taskList.setTaskDone(taskList.getList().size() - 1);
+            }
+        }
+
+        TaskList fresh = new TaskList(new ArrayList<>(taskList.getList()));
+        for (TaskAttribute attribute : TaskAttribute.values()) {
+            assertEquals(fresh.getPositionsWith(EnumSet.of(attribute), TaskOrder.DATE),
+                    taskList.getPositionsWith(EnumSet.of(attribute), TaskOrder.DATE));
+        }
+        for (String query : List.of("report", "ud", "port|get", "g.m")) {
+            assertEquals(search(fresh, query), search(taskList, query), query);
+        }
+        assertEquals(fresh.searchRanked("report mom gym", 20), taskList.searchRanked("report mom gym", 20));
+        assertEquals(fresh.searchSimilar("budgte"), taskList.searchSimilar("budgte"));
+        assertEquals(fresh.getTasksDueBefore(base.plusHours(50)), taskList.getTasksDueBefore(base.plusHours(50)));
+        assertEquals(fresh.getAllClashes(), taskList.getAllClashes());
+    }
+
+    @Test
+    public void getPositionsWith_sorted_sameAsStableSort() {
+        Random random = new Random(9);
+        TaskList taskList = new TaskList();
+        LocalDateTime base = LocalDateTime.of(2021, 3, 1, 9, 0);
+        for (int i = 0; i < 500; i++) {
+            LocalDateTime date = base.plusHours(random.nextInt(50));
+            int type = random.nextInt(3);
+            taskList.addTask(type == 0 ? new ToDo("todo " + i)
+                    : type == 1 ? new Deadline("deadline " + i, date)
+                    : new Event("event " + i, date));
+        }
+        for (TaskOrder order : TaskOrder.values()) {
+            taskList.getPositionsWith(EnumSet.noneOf(TaskAttribute.class), order);
+        }
+        for (int i = 0; i < 300; i++) {
+            int pos = random.nextInt(taskList.getList().size());
+            if (random.nextInt(3) == 0) {
+                taskList.deleteTask(pos);
+            } else if (!taskList.getList().get(pos).isDone()) {
+                taskList.setTaskDone(pos);
+            }
+        }
+
+        List<Task> tasks = taskList.getList();
+        Comparator<Integer> byDate = Comparator.comparing(pos -> dateOf(tasks.get(pos)),
+                Comparator.nullsLast(Comparator.naturalOrder()));
+        Comparator<Integer> byStatus = Comparator.comparing(pos -> tasks.get(pos).isDone());
+        Comparator<Integer> byType = Comparator.comparing(pos -> tasks.get(pos) instanceof ToDo ? 0
+                : tasks.get(pos) instanceof Deadline ? 1 : 2);
+        EnumSet<TaskAttribute> pendingEvents = EnumSet.of(TaskAttribute.PENDING, TaskAttribute.EVENT);
+
+        assertEquals(sortedPositions(tasks, EnumSet.noneOf(TaskAttribute.class), byDate),
+                taskList.getPositionsWith(EnumSet.noneOf(TaskAttribute.class), TaskOrder.DATE));
+        assertEquals(sortedPositions(tasks, pendingEvents, byDate),
+                taskList.getPositionsWith(pendingEvents, TaskOrder.DATE));
+        assertEquals(sortedPositions(tasks, EnumSet.of(TaskAttribute.DEADLINE), byStatus),
+                taskList.getPositionsWith(EnumSet.of(TaskAttribute.DEADLINE), TaskOrder.STATUS));
+        assertEquals(sortedPositions(tasks, EnumSet.of(TaskAttribute.DONE), byType),
+                taskList.getPositionsWith(EnumSet.of(TaskAttribute.DONE), TaskOrder.TYPE));
+        assertEquals(sortedPositions(tasks, pendingEvents, (a, b) -> 0),
+                taskList.getPositionsWith(pendingEvents, TaskOrder.LIST));
+    }
+
+    @Test
+    public void undoRedo_walksVersions() {
+        TaskList taskList = new TaskList(new ArrayList<>(List.of(new ToDo("buy milk"), new ToDo("buy eggs"))));
+        assertEquals(List.of("buy milk", "buy eggs"), search(taskList, "buy"));
+
+        taskList.addTask(new ToDo("buy bread"));
+        taskList.setTaskDone(1);
+        taskList.deleteTask(0);
+        List<Task> changed = taskList.getList();
+        assertEquals("[T][X] buy eggs", changed.get(0).toString());
+
+        assertTrue(taskList.undo());
+        assertEquals(List.of("buy milk", "buy eggs", "buy bread"), search(taskList, "buy"));
+        assertEquals(0, taskList.getPositionOfId(0));
+        assertEquals("[T][ ] buy milk", taskList.getTaskById(0).toString());
+        assertEquals("[T][X] buy eggs", taskList.getList().get(1).toString());
+        assertTrue(taskList.undo());
+        assertEquals("[T][ ] buy eggs", taskList.getList().get(1).toString());
+        assertEquals("[T][ ] buy eggs", taskList.getTaskById(1).toString());
+        assertEquals(List.of(0, 1, 2), taskList.getPositionsWith(EnumSet.of(TaskAttribute.PENDING)));
+
+        assertTrue(taskList.redo());
+        assertTrue(taskList.redo());
+        assertEquals(changed, taskList.getList());
+        assertNull(taskList.getTaskById(0));
+        assertEquals("[T][X] buy eggs", taskList.getTaskById(1).toString());
+        assertFalse(taskList.redo());
+        assertEquals(List.of("buy eggs", "buy bread"), search(taskList, "buy"));
+
+        assertTrue(taskList.undo());
+        taskList.deleteTask(2);
+        assertFalse(taskList.redo());
+        assertEquals(List.of("buy milk", "buy eggs"), search(taskList, "buy"));
+        assertEquals(-1, taskList.getPositionOfId(2));
+    }
+
+    @Test
+    public void undo_onlyLatestChangesKept() {
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 150; i++) {
+            taskList.addTask(new ToDo("task " + i));
+        }
+
+        int undoneCount = 0;
+        while (taskList.undo()) {
+            undoneCount++;
+        }
+
+        assertEquals(100, undoneCount);
+        assertEquals(50, taskList.getList().size());
+        assertEquals("task 49", taskList.getList().get(49).getDescription());
+
+        taskList.clearHistory();
+        assertFalse(taskList.redo());
+        taskList.addTask(new ToDo("task 150"));
+        assertEquals(50, taskList.getPositionOfId(150));
+        assertEquals(-1, taskList.getPositionOfId(149));
+    }
+
+    @Test
+    public void concurrentChanges_noLostUpdates() throws Exception {
+        List<Task> initial = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            initial.add(new ToDo("initial " + i));
+        }
+        TaskList taskList = new TaskList(initial);
+        int writerCount = 4;
+        int addsPerWriter = 2000;
+        int deletesPerDeleter = 400;
+
+        ExecutorService executor = Executors.newFixedThreadPool(writerCount + 3);
+        try {
+            List<Future<?>> changes = new ArrayList<>();
+            for (int writer = 0; writer < writerCount; writer++) {
+                String prefix = "writer " + writer + " task ";
+                changes.add(executor.submit(() -> {
+                    for (int i = 0; i < addsPerWriter; i++) {
+                        taskList.addTask(new ToDo(prefix + i));
+                    }
+                }));
+            }
+            for (int deleter = 0; deleter < 2; deleter++) {
+                changes.add(executor.submit(() -> {
+                    for (int i = 0; i < deletesPerDeleter; i++) {
+                        taskList.deleteTask(0);
+                    }
+                }));
+            }
+
+            // Searches read the indexes while they are changed, and must always see one writer's tasks in order.
+            AtomicBoolean isChanging = new AtomicBoolean(true);
+            Future<?> searches = executor.submit(() -> {
+                while (isChanging.get()) {
+                    assertInOrder(search(taskList, "writer 1 task"), "writer 1 task ");
+                }
+            });
+
+            for (Future<?> change : changes) {
+                change.get();
+            }
+            isChanging.set(false);
+            searches.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Task> tasks = taskList.getList();
+        int keptCount = initial.size() - 2 * deletesPerDeleter;
+        assertEquals(keptCount + writerCount * addsPerWriter, tasks.size());
+        for (int i = 0; i < keptCount; i++) {
+            assertEquals("initial " + (2 * deletesPerDeleter + i), tasks.get(i).getDescription());
+        }
+        for (int writer = 0; writer < writerCount; writer++) {
+            String prefix = "writer " + writer + " task ";
+            List<String> found = search(taskList, prefix);
+            assertEquals(addsPerWriter, found.size());
+            assertInOrder(found, prefix);
+        }
+        for (int pos = 0; pos < tasks.size(); pos++) {
+            assertEquals(pos, taskList.getPositionOfId(taskList.getTaskId(pos)));
+        }
+    }
+
+    @Test
+    public void concurrentReads_neverSeeHalfMadeChanges() throws Exception {
+        TaskList taskList = new TaskList();
+        AtomicBoolean isChanging = new AtomicBoolean(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // Each task is added, then marked as done, and every third change deletes the first task, so every
+            // version of the list holds consecutive tasks which are all done except perhaps the last.
+            Future<?> changes = executor.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    taskList.addTask(new ToDo("task " + i));
+                    taskList.setTaskDone(taskList.getList().size() - 1);
+                    if (i % 3 == 2) {
+                        taskList.deleteTask(0);
+                    }
+                }
+                isChanging.set(false);
+            });
+
+            List<Future<Integer>> reads = new ArrayList<>();
+            for (int reader = 0; reader < 3; reader++) {
+                reads.add(executor.submit(() -> {
+                    int readCount = 0;
+                    do {
+                        List<Task> tasks = taskList.getList();
+                        int i = 0;
+                        for (Task task : tasks) {
+                            assertEquals(numberOf(tasks.get(0)) + i, numberOf(task));
+                            assertTrue(task.isDone() || i == tasks.size() - 1, task.toString());
+                            assertEquals(task, tasks.get(i));
+                            i++;
+                        }
+                        assertEquals(tasks.size(), i);
+                        assertTrue(taskList.getPositionsWith(EnumSet.of(TaskAttribute.PENDING)).size() <= 1);
+                        readCount++;
+                    } while (isChanging.get());
+                    return readCount;
+                }));
+            }
+
+            changes.get();
+            for (Future<Integer> read : reads) {
+                assertTrue(read.get() > 0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(5000 - 5000 / 3, taskList.getList().size());
+    }
+
+    private static int numberOf(Task task) {
+        return Integer.parseInt(task.getDescription().substring("task ".length()));
+    }
+
+    private static void assertInOrder(List<String> descriptions, String prefix) {
+        for (int i = 0; i < descriptions.size(); i++) {
+            assertEquals(prefix + i, descriptions.get(i));
+        }
+    }
+
+    private static List<Integer> sortedPositions(List<Task> tasks, EnumSet<TaskAttribute> filter,
+            Comparator<Integer> order) {
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            if (hasAttributes(tasks.get(i), filter)) {
+                positions.add(i);
+            }
+        }
+        positions.sort(order);
+        return positions;
+    }
+
+    private static LocalDateTime dateOf(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getLocalDateTime();
+        } else if (task instanceof Event) {
+            return ((Event) task).getLocalDateTime();
+        } else {
+            return null;
+        }
+    }
+
+    private static boolean hasAttributes(Task task, EnumSet<TaskAttribute> filter) {
+        boolean isStatusMatched = filter.contains(TaskAttribute.DONE) && task.isDone()
+                || filter.contains(TaskAttribute.PENDING) && !task.isDone()
+                || !filter.contains(TaskAttribute.DONE) && !filter.contains(TaskAttribute.PENDING);
+        boolean isTypeMatched = filter.contains(TaskAttribute.TODO) && task instanceof ToDo
+                || filter.contains(TaskAttribute.DEADLINE) && task instanceof Deadline
+                || filter.contains(TaskAttribute.EVENT) && task instanceof Event
+                || !filter.contains(TaskAttribute.TODO) && !filter.contains(TaskAttribute.DEADLINE)
+                && !filter.contains(TaskAttribute.EVENT);
+        return isStatusMatched && isTypeMatched;
+    }
+
+    private static String pairKey(Task first, Task second) {
+        String a = first.getDescription();
+        String b = second.getDescription();
+        return a.compareTo(b) < 0 ? a + "/" + b : b + "/" + a;
+    }
+
+    private static List<String> descriptions(List<Task> tasks) {
+        List<String> descriptions = new ArrayList<>();
+        for (Task task : tasks) {
+            descriptions.add(task.getDescription());
+        }
+        return descriptions;
+    }
+}
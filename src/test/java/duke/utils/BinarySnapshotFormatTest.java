@@ -0,0 +1,70 @@
+package duke.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.tasks.Deadline;
+import duke.tasks.Event;
+import duke.tasks.Task;
+import duke.tasks.ToDo;
+
+public class BinarySnapshotFormatTest {
+    @Test
+    public void writeThenRead_sameTasks() throws Exception {
+        File file = Files.createTempFile("duke", ".bin").toFile();
+        ToDo todo = new ToDo("read book | chapter 1 \u00e9");
+        todo.markAsDone();
+        List<Task> tasks = List.of(todo, new Deadline("homework", LocalDateTime.of(2021, 2, 19, 23, 59)),
+                new Event("dinner", LocalDateTime.of(1969, 12, 31, 18, 0)),
+                new Event("trip", LocalDateTime.of(2021, 3, 1, 8, 0), LocalDateTime.of(2021, 3, 4, 20, 0)));
+
+        BinarySnapshotFormat format = new BinarySnapshotFormat();
+        format.write(file, tasks);
+        List<Task> read = format.read(file);
+
+        assertEquals(4, read.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), read.get(i).toString());
+        }
+    }
+
+    @Test
+    public void read_versionOneFile_eventsWithoutEnd() throws Exception {
+        File file = Files.createTempFile("duke", ".bin").toFile();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(0x44554B45);
+        output.writeShort(1);
+        output.writeInt(1);
+        output.writeByte('E');
+        output.writeBoolean(false);
+        output.writeLong(LocalDateTime.of(2021, 2, 19, 18, 0).toEpochSecond(ZoneOffset.UTC) / 60);
+        output.writeInt(6);
+        output.writeBytes("dinner");
+        Files.write(file.toPath(), bytes.toByteArray());
+
+        List<Task> read = new BinarySnapshotFormat().read(file);
+
+        assertEquals(1, read.size());
+        assertEquals("[E][ ] dinner (at: 19 Feb 2021, 6:00 PM)", read.get(0).toString());
+    }
+
+    @Test
+    public void read_textFile_exceptionThrown() throws Exception {
+        File file = Files.createTempFile("duke", ".txt").toFile();
+        Files.writeString(file.toPath(), "T | 0 | read book\n");
+
+        assertThrows(IOException.class, () -> new BinarySnapshotFormat().read(file));
+    }
+}
@@ -0,0 +1,41 @@
+package duke.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import duke.tasks.Task;
+
+public class DescriptionPoolTest {
+    @Test
+    public void intern_equalDescriptions_sameInstance() {
+        DescriptionPool pool = new DescriptionPool(10);
+        String standup = pool.intern(new String("standup"));
+
+        assertSame(standup, pool.intern(new String("standup")));
+        assertSame(standup, pool.intern(standup));
+        // Each copy of "standup" takes a 24 byte String and a 16 + 7 byte array, rounded up to 24.
+        assertEquals(48, pool.getBytesSaved());
+    }
+
+    @Test
+    public void intern_full_startsAgain() {
+        DescriptionPool pool = new DescriptionPool(2);
+        String first = pool.intern(new String("a"));
+        pool.intern("b");
+        pool.intern("c");
+
+        String again = pool.intern(new String("a"));
+        assertEquals(first, again);
+        assertSame(again, pool.intern(new String("a")));
+    }
+
+    @Test
+    public void decode_repeatedDescriptions_shared() throws Exception {
+        Task first = TaskRecordDecoder.decode("T | 0 | weekly report");
+        Task second = TaskRecordDecoder.decode("D | 1 | weekly report | 5/3/2021 0930");
+
+        assertSame(first.getDescription(), second.getDescription());
+    }
+}
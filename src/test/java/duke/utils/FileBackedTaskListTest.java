@@ -0,0 +1,82 @@
+package duke.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+
+import duke.tasks.TaskList;
+import duke.tasks.ToDo;
+
+public class FileBackedTaskListTest {
+    @Test
+    public void get_readsTasksOnDemand() throws Exception {
+        File file = writeTasks(10_000);
+        FileBackedTaskList list = new FileBackedTaskList(file, 100);
+
+        assertEquals(10_000, list.size());
+        assertEquals(0, list.getCachedCount());
+        assertEquals("task 9999", list.get(9999).getDescription());
+        assertEquals("task 5000", list.get(5000).getDescription());
+        assertTrue(list.getCachedCount() <= 100);
+    }
+
+    @Test
+    public void modifications_keptAfterEviction() throws Exception {
+        File file = writeTasks(10_000);
+        TaskList taskList = new TaskList(new FileBackedTaskList(file, 10));
+
+        taskList.setTaskDone(3);
+        taskList.deleteTask(0);
+        taskList.addTask(new ToDo("new task"));
+        for (int i = 0; i < taskList.getList().size(); i++) {
+            taskList.getList().get(i);
+        }
+
+        assertEquals("[T][X] task 3", taskList.getList().get(2).toString());
+        assertEquals("task 1", taskList.getList().get(0).getDescription());
+        assertEquals("new task", taskList.getList().get(9999).getDescription());
+    }
+
+    @Test
+    public void get_longLine() throws Exception {
+        File file = File.createTempFile("duke", ".txt");
+        String description = "x".repeat(100_000);
+        Files.writeString(file.toPath(), "T | 0 | a\r\nT | 0 | " + description + "\n\nT | 1 | b",
+                StandardCharsets.UTF_8);
+        FileBackedTaskList list = new FileBackedTaskList(file, 10);
+
+        assertEquals(3, list.size());
+        assertEquals(description, list.get(1).getDescription());
+        assertEquals("a", list.get(0).getDescription());
+        assertEquals("[T][X] b", list.get(2).toString());
+    }
+
+    @Test
+    public void close_onlyCachedTasksCanBeRead() throws Exception {
+        File file = writeTasks(10_000);
+        FileBackedTaskList list = new FileBackedTaskList(file, 100);
+
+        list.get(9999);
+        list.close();
+
+        assertEquals("task 9999", list.get(9999).getDescription());
+        assertThrows(UncheckedIOException.class, () -> list.get(0));
+    }
+
+    private static File writeTasks(int count) throws Exception {
+        File file = File.createTempFile("duke", ".txt");
+        StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            stringBuilder.append("T | 0 | task ").append(i).append("\n");
+        }
+        Files.writeString(file.toPath(), stringBuilder, StandardCharsets.UTF_8);
+        return file;
+    }
+}
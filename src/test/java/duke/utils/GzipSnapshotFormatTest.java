@@ -0,0 +1,62 @@
+package duke.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.tasks.Deadline;
+import duke.tasks.Event;
+import duke.tasks.Task;
+import duke.tasks.ToDo;
+
+public class GzipSnapshotFormatTest {
+    @Test
+    public void writeThenRead_sameTasks() throws Exception {
+        File file = Files.createTempFile("duke", ".txt.gz").toFile();
+        ToDo todo = new ToDo("read book | chapter 1 \u00e9");
+        todo.markAsDone();
+        List<Task> tasks = List.of(todo, new Deadline("homework", LocalDateTime.of(2021, 2, 19, 23, 59)),
+                new Event("dinner", LocalDateTime.of(2021, 3, 1, 18, 0)));
+
+        GzipSnapshotFormat format = new GzipSnapshotFormat();
+        format.write(file, tasks);
+        List<Task> read = format.read(file);
+
+        assertEquals(3, read.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), read.get(i).toString());
+        }
+    }
+
+    @Test
+    public void write_repetitiveTasks_smallerThanText() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(new ToDo("weekly report " + (i % 10)));
+        }
+
+        File gzipFile = Files.createTempFile("duke", ".txt.gz").toFile();
+        File textFile = Files.createTempFile("duke", ".txt").toFile();
+        new GzipSnapshotFormat().write(gzipFile, tasks);
+        new TextSnapshotFormat().write(textFile, tasks);
+
+        assertTrue(gzipFile.length() * 10 < textFile.length());
+    }
+
+    @Test
+    public void read_textFile_exceptionThrown() throws Exception {
+        File file = Files.createTempFile("duke", ".txt").toFile();
+        Files.writeString(file.toPath(), "T | 0 | read book\n");
+
+        assertThrows(IOException.class, () -> new GzipSnapshotFormat().read(file));
+    }
+}
@@ -0,0 +1,24 @@
+package duke.utils;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import duke.commands.DueCommand;
+import duke.dukeexceptions.EmptyArgumentException;
+import duke.tasks.TaskList;
+
+public class ParserTest {
+    @Test
+    public void parse_dueBetweenReversedRange_rejected() throws Exception {
+        Path dir = Files.createTempDirectory("duke");
+        Parser parser = new Parser(new TaskList(), new Storage(dir.resolve("tasks.txt").toString()));
+
+        assertThrows(EmptyArgumentException.class, () -> parser.parse("due between 7/3/2021 0000 /and 1/3/2021 0000"));
+        assertTrue(parser.parse("due between 1/3/2021 0000 /and 1/3/2021 0000") instanceof DueCommand);
+    }
+}
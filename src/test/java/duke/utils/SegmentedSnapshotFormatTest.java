@@ -0,0 +1,99 @@
+package duke.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import duke.commands.RedoCommand;
+import duke.commands.UndoCommand;
+import duke.tasks.TaskList;
+import duke.tasks.ToDo;
+
+public class SegmentedSnapshotFormatTest {
+    @Test
+    public void writeToFile_rewritesOnlyChangedSegments() throws Exception {
+        Path dir = Files.createTempDirectory("duke");
+        SegmentedSnapshotFormat format = new SegmentedSnapshotFormat(dir.resolve("segments").toString());
+        Storage storage = new Storage(dir.resolve("tasks.manifest").toString(), format, false);
+        TaskList taskList = storage.loadFromFile();
+
+        for (int i = 0; i < 5000; i++) {
+            ToDo todo = new ToDo("task " + i);
+            taskList.addTask(todo);
+            storage.recordAdd(taskList, todo);
+        }
+        storage.writeToFile(taskList);
+        assertEquals(0, format.getDirtySegmentCount());
+        assertEquals(5, Files.list(dir.resolve("segments")).count());
+
+        taskList.setTaskDone(2500);
+        storage.recordDone(taskList, 2500);
+        taskList.deleteTask(10);
+        storage.recordDelete(taskList, 10);
+        assertEquals(2, format.getDirtySegmentCount());
+        storage.writeToFile(taskList);
+        assertEquals(5, Files.list(dir.resolve("segments")).count());
+
+        SegmentedSnapshotFormat reloadedFormat = new SegmentedSnapshotFormat(dir.resolve("segments").toString());
+        TaskList reloaded = new Storage(dir.resolve("tasks.manifest").toString(), reloadedFormat, false)
+                .loadFromFile();
+        assertEquals(4999, reloaded.getList().size());
+        assertEquals("task 11", reloaded.getList().get(10).getDescription());
+        assertEquals("[T][X] task 2500", reloaded.getList().get(2499).toString());
+    }
+
+    @Test
+    public void loadFromFile_journalChangesAreRewritten() throws Exception {
+        Path dir = Files.createTempDirectory("duke");
+        String segments = dir.resolve("segments").toString();
+        String manifest = dir.resolve("tasks.manifest").toString();
+        Storage storage = new Storage(manifest, new SegmentedSnapshotFormat(segments), false);
+        TaskList taskList = storage.loadFromFile();
+        for (int i = 0; i < 3000; i++) {
+            ToDo todo = new ToDo("task " + i);
+            taskList.addTask(todo);
+            storage.recordAdd(taskList, todo);
+        }
+        storage.writeToFile(taskList);
+        taskList.deleteTask(0);
+        storage.recordDelete(taskList, 0);
+
+        SegmentedSnapshotFormat format = new SegmentedSnapshotFormat(segments);
+        Storage restarted = new Storage(manifest, format, false);
+        TaskList reloaded = restarted.loadFromFile();
+        assertEquals(1, format.getDirtySegmentCount());
+        restarted.writeToFile(reloaded);
+
+        assertEquals("task 1", new Storage(manifest, new SegmentedSnapshotFormat(segments), false).loadFromFile()
+                .getList().get(0).getDescription());
+    }
+
+    @Test
+    public void undoRedo_savedAndReloaded() throws Exception {
+        for (boolean isWrittenInBackground : new boolean[] {false, true}) {
+            Path dir = Files.createTempDirectory("duke");
+            String segments = dir.resolve("segments").toString();
+            String manifest = dir.resolve("tasks.manifest").toString();
+            Storage storage = new Storage(manifest, new SegmentedSnapshotFormat(segments), isWrittenInBackground);
+            TaskList taskList = storage.loadFromFile();
+
+            for (String description : new String[] {"a", "b"}) {
+                ToDo todo = new ToDo(description);
+                taskList.addTask(todo);
+                storage.recordAdd(taskList, todo);
+            }
+            taskList.setTaskDone(0);
+            storage.recordDone(taskList, 0);
+            new UndoCommand(taskList, storage).execute();
+            new RedoCommand(taskList, storage).execute();
+            storage.close();
+
+            TaskList reloaded = new Storage(manifest, new SegmentedSnapshotFormat(segments), false).loadFromFile();
+            assertEquals("[T][X] a", reloaded.getList().get(0).toString());
+            assertEquals("[T][ ] b", reloaded.getList().get(1).toString());
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package duke.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import duke.tasks.TaskList;
+import duke.tasks.ToDo;
+
+public class StorageTest {
+    @Test
+    public void loadFromFile_replaysJournal() throws Exception {
+        Path dir = Files.createTempDirectory("duke");
+        Storage storage = new Storage(dir.resolve("tasks.txt").toString());
+        TaskList taskList = new TaskList();
+
+        storage.recordAdd(taskList, new ToDo("read book"));
+        storage.recordAdd(taskList, new ToDo("return book"));
+        storage.recordDone(taskList, 1);
+        storage.recordDelete(taskList, 0);
+
+        TaskList loaded = storage.loadFromFile();
+        assertEquals(1, loaded.getList().size());
+        assertEquals("[T][X] return book", loaded.getList().get(0).toString());
+    }
+
+    @Test
+    public void loadFromFile_ignoresTornRecord() throws Exception {
+        Path dir = Files.createTempDirectory("duke");
+        Storage storage = new Storage(dir.resolve("tasks.txt").toString());
+
+        storage.recordAdd(new TaskList(), new ToDo("read book"));
+        Files.writeString(dir.resolve("tasks.txt.journal"), "A | T | 0 | half wri",
+                StandardOpenOption.APPEND);
+
+        assertEquals(1, storage.loadFromFile().getList().size());
+    }
+
+    @Test
+    public void recordAdd_afterFailedAppend_writesSnapshot() throws Exception {
+        Path dir = Files.createTempDirectory("duke");
+        Storage storage = new Storage(dir.resolve("tasks.txt").toString());
+        TaskList taskList = new TaskList();
+
+        // A directory in place of the journal makes every append fail.
+        Files.createDirectory(dir.resolve("tasks.txt.journal"));
+        ToDo first = new ToDo("read book");
+        taskList.addTask(first);
+        assertThrows(IOException.class, () -> storage.recordAdd(taskList, first));
+        Files.delete(dir.resolve("tasks.txt.journal"));
+
+        ToDo second = new ToDo("return book");
+        taskList.addTask(second);
+        storage.recordAdd(taskList, second);
+
+        TaskList loaded = storage.loadFromFile();
+        assertEquals(2, loaded.getList().size());
+        assertEquals("[T][ ] read book", loaded.getList().get(0).toString());
+    }
+
+    @Test
+    public void writeToFile_clearsJournal() throws Exception {
+        Path dir = Files.createTempDirectory("duke");
+        Storage storage = new Storage(dir.resolve("tasks.txt").toString());
+
+        TaskList taskList = new TaskList();
+        ToDo todo = new ToDo("read book");
+        taskList.addTask(todo);
+        storage.recordAdd(taskList, todo);
+        storage.writeToFile(taskList);
+
+        assertEquals(1, storage.loadFromFile().getList().size());
+    }
+
+    @Test
+    public void addTask_concurrentWriters_journalMatchesList() throws Exception {
+        for (boolean isWrittenInBackground : new boolean[] {false, true}) {
+            Path dir = Files.createTempDirectory("duke");
+            String filepath = dir.resolve("tasks.txt").toString();
+            Storage storage = new Storage(filepath, isWrittenInBackground);
+            TaskList taskList = storage.loadFromFile();
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int writer = t;
+                writers.add(executor.submit(() -> {
+                    Random random = new Random(writer);
+                    for (int i = 0; i < 500; i++) {
+                        storage.addTask(taskList, new ToDo("task " + writer + " " + i));
+                        // Other writers may add or delete tasks at any time, so positions are only valid while
+                        // the Storage is locked.
+                        synchronized (storage) {
+                            int size = taskList.getList().size();
+                            if (random.nextInt(4) == 0) {
+                                storage.deleteTask(taskList, random.nextInt(size));
+                            } else if (random.nextInt(3) == 0) {
+                                storage.setTaskDone(taskList, random.nextInt(size));
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            executor.shutdown();
+            storage.close();
+
+            TaskList loaded = new Storage(filepath).loadFromFile();
+            assertEquals(taskList.getList().toString(), loaded.getList().toString());
+        }
+    }
+
+    @Test
+    public void flush_backgroundWritesAreDurable() throws Exception {
+        Path dir = Files.createTempDirectory("duke");
+        String filepath = dir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(filepath, true);
+
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 100; i++) {
+            ToDo todo = new ToDo("task " + i);
+            taskList.addTask(todo);
+            storage.recordAdd(taskList, todo);
+        }
+        storage.writeToFile(taskList);
+        taskList.deleteTask(0);
+        storage.recordDelete(taskList, 0);
+        storage.flush();
+
+        TaskList loaded = new Storage(filepath).loadFromFile();
+        assertEquals(99, loaded.getList().size());
+        assertEquals("[T][ ] task 1", loaded.getList().get(0).toString());
+    }
+
+    @Test
+    public void recordAdd_background_afterFailedWrite_writesSnapshot() throws Exception {
+        Path dir = Files.createTempDirectory("duke");
+        String filepath = dir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(filepath, true);
+        TaskList taskList = new TaskList();
+
+        Files.createDirectory(dir.resolve("tasks.txt.journal"));
+        ToDo first = new ToDo("read book");
+        taskList.addTask(first);
+        storage.recordAdd(taskList, first);
+        assertThrows(IOException.class, storage::flush);
+        Files.delete(dir.resolve("tasks.txt.journal"));
+
+        ToDo second = new ToDo("return book");
+        taskList.addTask(second);
+        storage.recordAdd(taskList, second);
+        storage.flush();
+
+        TaskList loaded = new Storage(filepath).loadFromFile();
+        assertEquals(2, loaded.getList().size());
+        assertEquals("[T][ ] read book", loaded.getList().get(0).toString());
+    }
+
+    @Test
+    public void recordAdd_background_afterClose_throws() throws Exception {
+        Path dir = Files.createTempDirectory("duke");
+        Storage storage = new Storage(dir.resolve("tasks.txt").toString(), true);
+        TaskList taskList = storage.loadFromFile();
+        storage.close();
+
+        assertThrows(IOException.class, () -> storage.addTask(taskList, new ToDo("read book")));
+        assertThrows(IOException.class, () -> storage.writeToFile(taskList));
+    }
+
+    @Test
+    public void writeToFile_background_savesListAsItWasWhenCalled() throws Exception {
+        Path dir = Files.createTempDirectory("duke");
+        String filepath = dir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(filepath, true);
+
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 1000; i++) {
+            taskList.addTask(new ToDo("task " + i));
+        }
+        storage.writeToFile(taskList);
+        for (int i = 0; i < 500; i++) {
+            taskList.deleteTask(0);
+        }
+        taskList.undo();
+        storage.flush();
+
+        TaskList loaded = new Storage(filepath).loadFromFile();
+        assertEquals(1000, loaded.getList().size());
+        assertEquals("[T][ ] task 0", loaded.getList().get(0).toString());
+        assertFalse(loaded.undo());
+    }
+
+    @Test
+    public void writeToFile_emptyListIsSaved() throws Exception {
+        Path dir = Files.createTempDirectory("duke");
+        Storage storage = new Storage(dir.resolve("tasks.txt").toString());
+
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("read book"));
+        storage.writeToFile(taskList);
+        taskList.deleteTask(0);
+        storage.writeToFile(taskList);
+
+        assertTrue(storage.loadFromFile().isEmpty());
+    }
+
+    @Test
+    public void loadFromFile_unfinishedSnapshotIsDiscarded() throws Exception {
+        Path dir = Files.createTempDirectory("duke");
+        Storage storage = new Storage(dir.resolve("tasks.txt").toString());
+
+        TaskList taskList = new TaskList();
+        ToDo todo = new ToDo("read book");
+        taskList.addTask(todo);
+        storage.recordAdd(taskList, todo);
+        Files.writeString(dir.resolve("tasks.txt.tmp"), "T | 0 | half wri");
+
+        assertEquals("[T][ ] read book", storage.loadFromFile().getList().get(0).toString());
+        assertFalse(Files.exists(dir.resolve("tasks.txt.tmp")));
+    }
+
+    @Test
+    public void recordAdd_largeJournalIsCompacted() throws Exception {
+        Path dir = Files.createTempDirectory("duke");
+        Storage storage = new Storage(dir.resolve("tasks.txt").toString());
+
+        TaskList taskList = new TaskList();
+        String description = "x".repeat(100);
+        for (int i = 0; i < 5000; i++) {
+            ToDo todo = new ToDo(description + i);
+            taskList.addTask(todo);
+            storage.recordAdd(taskList, todo);
+        }
+
+        assertTrue(Files.size(dir.resolve("tasks.txt.journal")) < 256 * 1024);
+        assertEquals(5000, storage.loadFromFile().getList().size());
+    }
+
+    @Test
+    public void loadFromFile_migratesTextFile() throws Exception {
+        Path dir = Files.createTempDirectory("duke");
+        Files.writeString(dir.resolve("tasks.txt"), "T | 0 | read book\nD | 1 | homework | 19/2/2021 2359");
+        Files.writeString(dir.resolve("tasks.txt.journal"), "M | 0\n");
+
+        Storage storage = new Storage(dir.resolve("tasks.bin").toString(), new BinarySnapshotFormat(), false);
+        storage.setMigrationSource(dir.resolve("tasks.txt").toString());
+        TaskList loaded = storage.loadFromFile();
+
+        assertEquals("[T][X] read book", loaded.getList().get(0).toString());
+        assertEquals(2, loaded.getList().size());
+        assertFalse(Files.exists(dir.resolve("tasks.txt")));
+        assertEquals(2, new Storage(dir.resolve("tasks.bin").toString(), new BinarySnapshotFormat(), false)
+                .loadFromFile().getList().size());
+    }
+
+    @Test
+    public void loadFromFile_lazy_replaysJournal() throws Exception {
+        Path dir = Files.createTempDirectory("duke");
+        // The last line cannot be decoded, so the load only succeeds if tasks are decoded when accessed.
+        Files.writeString(dir.resolve("tasks.txt"), "T | 0 | read book\nT | 0 | return book\n"
+                + "T | 0 | filler\n".repeat(5000) + "not a task\n");
+        Files.writeString(dir.resolve("tasks.txt.journal"), "M | 1\nX | 0\n");
+
+        Storage storage = new Storage(dir.resolve("tasks.txt").toString());
+        storage.setLoadedLazily(true);
+        TaskList loaded = storage.loadFromFile();
+
+        assertEquals(5002, loaded.getList().size());
+        assertEquals("[T][X] return book", loaded.getList().get(0).toString());
+    }
+}
@@ -0,0 +1,43 @@
+package duke.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.tasks.Task;
+
+public class TaskFileLoaderTest {
+    @Test
+    public void load_largeFile_keepsOrder() throws Exception {
+        Path file = Files.createTempFile("duke", ".txt");
+        StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0; i < 200_000; i++) {
+            stringBuilder.append(i % 2 == 0 ? "T | 0 | task " + i : "D | 1 | task " + i + " | 2/3/2021 1800")
+                    .append(i % 1000 == 0 ? "\r\n" : "\n");
+        }
+        Files.writeString(file, stringBuilder, StandardCharsets.UTF_8);
+
+        List<Task> tasks = TaskFileLoader.load(file.toFile());
+
+        assertEquals(200_000, tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals("task " + i, tasks.get(i).getDescription());
+        }
+    }
+
+    @Test
+    public void load_skipsEmptyLines() throws Exception {
+        Path file = Files.createTempFile("duke", ".txt");
+        Files.writeString(file, "T | 0 | read book\n\nT | 1 | return book\n", StandardCharsets.UTF_8);
+
+        List<Task> tasks = TaskFileLoader.load(file.toFile());
+
+        assertEquals(2, tasks.size());
+        assertEquals("[T][X] return book", tasks.get(1).toString());
+    }
+}
@@ -0,0 +1,27 @@
+package duke.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.tasks.Task;
+import duke.tasks.ToDo;
+
+public class TaskFilterTest {
+    @Test
+    public void filterInParallel_sameOrderAsSequential() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            tasks.add(new ToDo("task " + i));
+        }
+
+        List<Task> expected = TaskFilter.filterSequentially(tasks, task -> task.getDescription().endsWith("7"));
+
+        assertEquals(5_000, expected.size());
+        assertEquals(expected, TaskFilter.filterInParallel(tasks, task -> task.getDescription().endsWith("7")));
+        assertEquals(expected, TaskFilter.filter(tasks, task -> task.getDescription().endsWith("7")));
+    }
+}
@@ -0,0 +1,53 @@
+package duke.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import duke.dukeexceptions.InvalidFileTaskTypeException;
+import duke.tasks.Deadline;
+
+public class TaskRecordDecoderTest {
+    @Test
+    public void decode_deadline() throws Exception {
+        Deadline deadline = (Deadline) TaskRecordDecoder.decode("D | 1 | homework | 5/3/2021 0930");
+        assertEquals("[D][X] homework (by: 05 Mar 2021, 9:30 AM)", deadline.toString());
+    }
+
+    @Test
+    public void decode_legacyDateFormat() throws Exception {
+        assertEquals("[E][ ] dinner (at: 19 Feb 2021, 6:00 PM)",
+                TaskRecordDecoder.decode("E | 0 | dinner | 19 Feb 21 1800").toString());
+    }
+
+    @Test
+    public void decode_eventWithEnd() throws Exception {
+        assertEquals("[E][ ] a | b (at: 19 Feb 2021, 6:00 PM to 20 Feb 2021, 1:00 AM)",
+                TaskRecordDecoder.decode("E | 0 | a | b | 19/2/2021 1800 /to 20/2/2021 0100").toString());
+        assertEquals("[E][ ] dinner (at: 19 Feb 2021, 6:00 PM to 19 Feb 2021, 8:00 PM)",
+                TaskRecordDecoder.decode("E | 0 | dinner | 19 Feb 21 1800 /to 19-02-21 2000").toString());
+    }
+
+    @Test
+    public void decode_descriptionWithSeparator() throws Exception {
+        assertEquals("a | b", TaskRecordDecoder.decode("T | 0 | a | b").getDescription());
+        assertEquals("a | b", TaskRecordDecoder.decode("D | 0 | a | b | 1/1/2021 0000").getDescription());
+    }
+
+    @Test
+    public void decode_invalidDayResolvedLikeFormatter() throws Exception {
+        assertEquals("28 Feb 2021, 12:00 PM",
+                ((Deadline) TaskRecordDecoder.decode("D | 0 | x | 31/2/2021 1200")).getDateTime());
+    }
+
+    @Test
+    public void decode_invalidRecord_exceptionThrown() {
+        assertThrows(InvalidFileTaskTypeException.class, () -> TaskRecordDecoder.decode("X | 0 | task"));
+        assertThrows(InvalidFileTaskTypeException.class, () -> TaskRecordDecoder.decode("T | 2 | task"));
+        assertThrows(InvalidFileTaskTypeException.class, () -> TaskRecordDecoder.decode("D | 0 | no date"));
+        assertThrows(InvalidFileTaskTypeException.class, () -> TaskRecordDecoder.decode("T |"));
+        assertThrows(InvalidFileTaskTypeException.class, () ->
+                TaskRecordDecoder.decode("E | 0 | dinner | 19/2/2021 1800 /to 19/2/2021 1800"));
+    }
+}